@@ -0,0 +1,10 @@
+#!/bin/sh
+# Starts the startup-optimized build (./mvnw -Pstartup package) with its AOT-processed
+# context and CDS archive. Extra arguments are passed to the application.
+APP_DIR="$(cd "$(dirname "$0")/../target/app" && pwd)" || exit 1
+JAR="$(ls "$APP_DIR"/*.jar | head -n 1)"
+
+cd "$APP_DIR" || exit 1
+exec java -XX:SharedArchiveFile=application.jsa -Xshare:auto \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=prod \
+    ${JAVA_OPTS} -jar "$JAR" "$@"
@@ -0,0 +1,35 @@
+#!/bin/sh
+# Measures time from process start to the first successful request.
+#   scripts/startup-benchmark.sh plain       # target/backend-*.jar as built by ./mvnw package
+#   scripts/startup-benchmark.sh optimized   # target/app after ./mvnw -Pstartup package
+# URL defaults to the user list; RUNS defaults to 5.
+MODE="${1:-plain}"
+URL="${URL:-http://localhost:8080/api/users}"
+RUNS="${RUNS:-5}"
+BASE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+
+now_ms() {
+    date +%s%3N
+}
+
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    start=$(now_ms)
+    if [ "$MODE" = "optimized" ]; then
+        "$BASE_DIR/scripts/start-optimized.sh" > /dev/null 2>&1 &
+    else
+        java ${JAVA_OPTS} -jar "$(ls "$BASE_DIR"/target/backend-*.jar | head -n 1)" > /dev/null 2>&1 &
+    fi
+    pid=$!
+    until curl -fs -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "run $i: application exited before serving a request" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    echo "run $i: first successful request after $(( $(now_ms) - start )) ms ($MODE)"
+    kill "$pid"
+    wait "$pid" 2> /dev/null
+    i=$((i + 1))
+done
@@ -0,0 +1,58 @@
+package com.example.backend.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Omits fields the client did not ask for instead of sending them as nulls. Only the
+ * top-level DTO is narrowed.
+ */
+@RestControllerAdvice
+public class FieldSelectionResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter("fields");
+        if (fields == null || fields.isBlank()) {
+            return;
+        }
+        JsonFilter filter = filterOf(bodyContainer.getValue());
+        if (filter == null) {
+            return;
+        }
+        Set<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .addFilter(filter.value(), SimpleBeanPropertyFilter.filterOutAllExcept(selected)));
+    }
+
+    private static JsonFilter filterOf(Object body) {
+        Object sample = body;
+        if (body instanceof Collection<?> collection) {
+            sample = collection.isEmpty() ? null : collection.iterator().next();
+        }
+        return sample != null ? sample.getClass().getAnnotation(JsonFilter.class) : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times API requests during the first window of traffic after startup and logs a summary.
+ */
+@Slf4j
+public class FirstMinuteLatencyFilter extends OncePerRequestFilter {
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final long windowNanos;
+    private final Timer timer;
+    private final AtomicLong windowStart = new AtomicLong(NOT_STARTED);
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    public FirstMinuteLatencyFilter(MeterRegistry meterRegistry, long windowSeconds) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.timer = Timer.builder("http.first-minute.requests")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (reported.get()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        windowStart.compareAndSet(NOT_STARTED, startedAt);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long now = System.nanoTime();
+            if (now - windowStart.get() < windowNanos) {
+                timer.record(now - startedAt, TimeUnit.NANOSECONDS);
+            } else if (reported.compareAndSet(false, true)) {
+                log.info("First-minute latency: {} requests, mean {} ms, max {} ms",
+                        timer.count(), Math.round(timer.mean(TimeUnit.MILLISECONDS)),
+                        Math.round(timer.max(TimeUnit.MILLISECONDS)));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pins writes, and a client's reads shortly after its own write, to the primary. Clients
+ * are identified by {@code X-User-Id}, falling back to the remote address.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final String USER_HEADER = "X-User-Id";
+
+    private final long windowNanos;
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+
+    public ReadYourWritesFilter(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        boolean write = !isSafe(request.getMethod());
+        long now = System.nanoTime();
+
+        Long pinnedUntil = recentWriters.get(client);
+        if (write || (pinnedUntil != null && pinnedUntil - now > 0)) {
+            ReplicaRoutingContext.forcePrimary();
+        } else if (pinnedUntil != null) {
+            recentWriters.remove(client, pinnedUntil);
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+            if (write && response.getStatus() < 400) {
+                recentWriters.put(client, System.nanoTime() + windowNanos);
+                sweepExpired();
+            }
+        }
+    }
+
+    int pinnedClients() {
+        return recentWriters.size();
+    }
+
+    // Clients that write and never read again would otherwise stay in the map forever
+    private void sweepExpired() {
+        long now = System.nanoTime();
+        long due = nextSweepNanos.get();
+        if (now - due >= 0 && nextSweepNanos.compareAndSet(due, now + windowNanos)) {
+            recentWriters.values().removeIf(pinnedUntil -> pinnedUntil - now <= 0);
+        }
+    }
+
+    private static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String userId = request.getHeader(USER_HEADER);
+        return userId != null && !userId.isBlank() ? "user:" + userId : "addr:" + request.getRemoteAddr();
+    }
+}
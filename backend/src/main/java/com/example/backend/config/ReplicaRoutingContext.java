@@ -0,0 +1,54 @@
+package com.example.backend.config;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that pins the current request to the primary.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void forcePrimary() {
+        FORCE_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(FORCE_PRIMARY.get());
+    }
+
+    public static void clear() {
+        FORCE_PRIMARY.remove();
+    }
+
+    public static <T> T readFromPrimary(PlatformTransactionManager transactionManager, Supplier<T> action) {
+        return read(transactionManager, true, action);
+    }
+
+    // A read-only transaction of its own, on the replica unless pinned here or by the request
+    public static <T> T read(PlatformTransactionManager transactionManager, boolean primary, Supplier<T> action) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        Boolean previous = FORCE_PRIMARY.get();
+        if (primary) {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+        }
+        try {
+            return transaction.execute(status -> action.get());
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+}
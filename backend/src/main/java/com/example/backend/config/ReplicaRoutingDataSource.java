@@ -0,0 +1,66 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replica and everything else to the primary. Needs a
+ * lazy connection proxy so the read-only flag is set before a connection is chosen.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource replica;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private volatile boolean replicaHealthy = true;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = meterRegistry.counter("datasource.routing", "pool", "primary");
+        this.replicaRoutes = meterRegistry.counter("datasource.routing", "pool", "replica");
+        meterRegistry.gauge("datasource.replica.healthy", this, ds -> ds.replicaHealthy ? 1 : 0);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaHealthy
+                && !ReplicaRoutingContext.isPrimaryForced()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            replicaRoutes.increment();
+            return Route.REPLICA;
+        }
+        primaryRoutes.increment();
+        return Route.PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval-ms:5000}")
+    public void checkReplicaHealth() {
+        boolean healthy;
+        try (Connection connection = replica.getConnection()) {
+            healthy = connection.isValid(2);
+        } catch (Exception e) {
+            healthy = false;
+        }
+        if (healthy != replicaHealthy) {
+            log.warn("Read replica is now {}", healthy ? "healthy, routing read-only transactions to it"
+                    : "unhealthy, routing all traffic to the primary");
+        }
+        replicaHealthy = healthy;
+    }
+}
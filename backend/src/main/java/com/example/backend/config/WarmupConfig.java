@@ -0,0 +1,23 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class WarmupConfig {
+
+    @Bean
+    public FilterRegistrationBean<FirstMinuteLatencyFilter> firstMinuteLatencyFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.warmup.report-window-seconds:60}") long windowSeconds) {
+        FilterRegistrationBean<FirstMinuteLatencyFilter> registration =
+                new FilterRegistrationBean<>(new FirstMinuteLatencyFilter(meterRegistry, windowSeconds));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.AdminStatsDTO;
+import com.example.backend.dto.JournalEntryDTO;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.service.AdminStatsService;
+import com.example.backend.service.ChangeJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000"})
+public class AdminController {
+
+    private static final int MAX_JOURNAL_ENTRIES = 10000;
+
+    private final AdminStatsService adminStatsService;
+    private final ChangeJournal changeJournal;
+
+    @GetMapping("/stats")
+    public ResponseEntity<AdminStatsDTO> getStats() {
+        return ResponseEntity.ok(adminStatsService.getStats());
+    }
+
+    @GetMapping("/journal")
+    public ResponseEntity<List<JournalEntryDTO>> getJournal(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        if (limit <= 0 || limit > MAX_JOURNAL_ENTRIES) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_JOURNAL_ENTRIES);
+        }
+        List<JournalEntryDTO> entries = new ArrayList<>();
+        changeJournal.replay(from, to, entry -> {
+            entries.add(JournalEntryDTO.builder()
+                    .sequence(entry.sequence())
+                    .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestampMillis()), ZoneId.systemDefault()))
+                    .type(entry.type().name())
+                    .entityId(entry.entityId())
+                    .actorId(entry.actorId())
+                    .ownerId(entry.ownerId())
+                    .startTime(entry.startTime())
+                    .endTime(entry.endTime())
+                    .userIds(entry.userIds())
+                    .days(entry.days())
+                    .build());
+            return entries.size() < limit;
+        });
+        return ResponseEntity.ok(entries);
+    }
+
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<AdminStatsDTO> reconcileStats() {
+        adminStatsService.reconcile();
+        return ResponseEntity.ok(adminStatsService.getStats());
+    }
+}
@@ -2,16 +2,32 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.AgendaRequestDTO;
 import com.example.backend.dto.AgendaResponseDTO;
+import com.example.backend.dto.AvailabilityResponseDTO;
+import com.example.backend.dto.FreeBusyRequestDTO;
+import com.example.backend.dto.FreeBusyResponseDTO;
 import com.example.backend.entity.Agenda;
 import com.example.backend.entity.User;
 import com.example.backend.mapper.AgendaMapper;
+import com.example.backend.mapper.FieldSelection;
 import com.example.backend.service.AgendaService;
+import com.example.backend.service.BusyInterval;
+import com.example.backend.service.FreeBusyService;
+import com.example.backend.service.SingleFlightService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/agendas")
@@ -21,6 +37,8 @@ public class AgendaController {
 
     private final AgendaService agendaService;
     private final AgendaMapper agendaMapper;
+    private final FreeBusyService freeBusyService;
+    private final SingleFlightService singleFlight;
 
     @PostMapping
     public ResponseEntity<AgendaResponseDTO> createAgenda(@RequestBody AgendaRequestDTO request) {
@@ -41,9 +59,52 @@ public class AgendaController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<AgendaResponseDTO>> getAgendasByUser(@PathVariable("userId") Long userId) {
-        List<Agenda> agendas = agendaService.getAgendasByUser(userId);
-        return ResponseEntity.ok(agendaMapper.toResponseDTOList(agendas));
+    public ResponseEntity<List<AgendaResponseDTO>> getAgendasByUser(
+            @PathVariable("userId") Long userId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, AgendaMapper.FIELDS);
+        List<AgendaResponseDTO> agendas = singleFlight.execute("agendas-by-user", userId,
+                Arrays.asList(from, to, fields),
+                () -> agendaMapper.toResponseDTOList(agendaService.getAgendasByUser(userId, from, to), selection));
+        return ResponseEntity.ok(agendas);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponseDTO> getAvailability(
+            @RequestParam("userIds") List<Long> userIds,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        Set<Long> requested = new LinkedHashSet<>(userIds);
+        List<Long> freeUserIds = agendaService.findAvailableUsers(requested, start, end);
+        List<Long> busyUserIds = new ArrayList<>(requested);
+        busyUserIds.removeAll(freeUserIds);
+        return ResponseEntity.ok(AvailabilityResponseDTO.builder()
+                .start(start)
+                .end(end)
+                .freeUserIds(freeUserIds)
+                .busyUserIds(busyUserIds)
+                .build());
+    }
+
+    @PostMapping("/freebusy")
+    public ResponseEntity<FreeBusyResponseDTO> getFreeBusy(@RequestBody FreeBusyRequestDTO request) {
+        Map<Long, List<BusyInterval>> busy =
+                freeBusyService.getFreeBusy(request.getUserIds(), request.getStart(), request.getEnd());
+        List<FreeBusyResponseDTO.UserBusy> users = busy.entrySet().stream()
+                .map(entry -> FreeBusyResponseDTO.UserBusy.builder()
+                        .userId(entry.getKey())
+                        .busy(entry.getValue().stream()
+                                .map(interval -> new FreeBusyResponseDTO.Interval(interval.start(), interval.end()))
+                                .collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(FreeBusyResponseDTO.builder()
+                .start(request.getStart())
+                .end(request.getEnd())
+                .users(users)
+                .build());
     }
 
     @PutMapping("/{id}")
@@ -1,17 +1,35 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.BatchResponseDTO;
 import com.example.backend.dto.MeetingRequestDTO;
 import com.example.backend.dto.MeetingResponseDTO;
+import com.example.backend.dto.NormalizedMeetingListDTO;
+import com.example.backend.dto.PageResponseDTO;
+import com.example.backend.dto.SchedulePlanDTO;
+import com.example.backend.dto.ScheduleRequestDTO;
+import com.example.backend.dto.UserResponseDTO;
 import com.example.backend.entity.Meeting;
 import com.example.backend.entity.User;
+import com.example.backend.mapper.FieldSelection;
 import com.example.backend.mapper.MeetingMapper;
+import com.example.backend.mapper.UserMapper;
+import com.example.backend.service.IdempotencyService;
+import com.example.backend.service.MeetingSchedulerService;
 import com.example.backend.service.MeetingService;
+import com.example.backend.service.SingleFlightService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -22,52 +40,163 @@ public class MeetingController {
 
     private final MeetingService meetingService;
     private final MeetingMapper meetingMapper;
+    private final UserMapper userMapper;
+    private final MeetingSchedulerService schedulerService;
+    private final IdempotencyService idempotencyService;
+    private final SingleFlightService singleFlight;
 
     @PostMapping
-    public ResponseEntity<MeetingResponseDTO> createMeeting(@RequestBody MeetingRequestDTO request) {
-        Meeting meeting = meetingMapper.toEntity(request);
-        
-        User organizer = new User();
-        organizer.setId(request.getOrganizerId());
-        meeting.setOrganizer(organizer);
-        
-        if (request.getParticipantIds() != null && !request.getParticipantIds().isEmpty()) {
-            List<User> participants = request.getParticipantIds().stream()
-                    .map(id -> {
-                        User user = new User();
-                        user.setId(id);
-                        return user;
-                    })
-                    .collect(Collectors.toList());
-            meeting.setParticipants(participants);
-        }
-        
-        Meeting createdMeeting = meetingService.createMeeting(meeting);
-        return new ResponseEntity<>(meetingMapper.toResponseDTO(createdMeeting), HttpStatus.CREATED);
+    public ResponseEntity<MeetingResponseDTO> createMeeting(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody MeetingRequestDTO request) {
+        return idempotencyService.execute("meetings", idempotencyKey, request, MeetingResponseDTO.class, () -> {
+            Meeting meeting = meetingMapper.toEntity(request);
+            
+            User organizer = new User();
+            organizer.setId(request.getOrganizerId());
+            meeting.setOrganizer(organizer);
+            
+            if (request.getParticipantIds() != null && !request.getParticipantIds().isEmpty()) {
+                Set<User> participants = request.getParticipantIds().stream()
+                        .map(id -> {
+                            User user = new User();
+                            user.setId(id);
+                            return user;
+                        })
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                meeting.setParticipants(participants);
+            }
+            
+            Meeting createdMeeting = meetingService.createMeeting(meeting);
+            return new ResponseEntity<>(meetingMapper.toResponseDTO(createdMeeting), HttpStatus.CREATED);
+        });
+    }
+
+    /**
+     * Plans sessions without booking them; the plan may be partial if the time budget runs out.
+     */
+    @PostMapping("/schedule")
+    public ResponseEntity<SchedulePlanDTO> scheduleMeetings(@RequestBody ScheduleRequestDTO request) {
+        List<MeetingSchedulerService.SessionRequest> sessions = request.getSessions() == null ? List.of()
+                : request.getSessions().stream()
+                .map(session -> new MeetingSchedulerService.SessionRequest(session.getKey(),
+                        session.getOrganizerId(), session.getParticipantIds(), session.getDurationMinutes(),
+                        session.getWindowStart(), session.getWindowEnd()))
+                .collect(Collectors.toList());
+        MeetingSchedulerService.Plan plan =
+                schedulerService.solve(sessions, request.getStepMinutes(), request.getTimeBudgetMs());
+        return ResponseEntity.ok(SchedulePlanDTO.builder()
+                .complete(plan.complete())
+                .scheduled(plan.scheduled().stream()
+                        .map(assignment -> new SchedulePlanDTO.Assignment(
+                                assignment.key(), assignment.startTime(), assignment.endTime()))
+                        .collect(Collectors.toList()))
+                .unscheduled(plan.unscheduled())
+                .sessions(plan.sessions())
+                .attendees(plan.attendees())
+                .candidates(plan.candidates())
+                .nodesExplored(plan.nodesExplored())
+                .solveMillis(plan.solveMillis())
+                .build());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<MeetingResponseDTO> getMeetingById(@PathVariable("id") Long id) {
-        Meeting meeting = meetingService.getMeetingById(id);
+        Meeting meeting = meetingService.getMeetingIncludingArchive(id);
         return ResponseEntity.ok(meetingMapper.toResponseDTO(meeting));
     }
 
-    @GetMapping
-    public ResponseEntity<List<MeetingResponseDTO>> getAllMeetings() {
+    @GetMapping(params = "!ids")
+    public ResponseEntity<List<MeetingResponseDTO>> getAllMeetings(
+            @RequestParam(value = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, MeetingMapper.FIELDS);
+        List<Meeting> meetings = meetingService.getAllMeetings(selection);
+        return ResponseEntity.ok(meetingMapper.toResponseDTOList(meetings, selection));
+    }
+
+    /**
+     * Batch lookup, e.g. {@code ?ids=3,1,7}; unknown ids are listed in {@code missingIds}.
+     */
+    @GetMapping(params = {"ids", "!shape"})
+    public ResponseEntity<BatchResponseDTO<MeetingResponseDTO>> getMeetingsByIds(@RequestParam("ids") List<Long> ids) {
+        List<Meeting> meetings = meetingService.getMeetingsByIds(ids);
+        Set<Long> found = meetings.stream().map(Meeting::getId).collect(Collectors.toSet());
+        return ResponseEntity.ok(BatchResponseDTO.<MeetingResponseDTO>builder()
+                .items(meetingMapper.toResponseDTOList(meetings))
+                .missingIds(ids.stream().distinct().filter(id -> !found.contains(id)).collect(Collectors.toList()))
+                .build());
+    }
+
+    @GetMapping(params = {"shape=normalized", "!ids"})
+    public ResponseEntity<NormalizedMeetingListDTO> getAllMeetingsNormalized() {
         List<Meeting> meetings = meetingService.getAllMeetings();
+        return ResponseEntity.ok(meetingMapper.toNormalizedListDTO(meetings));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<MeetingResponseDTO>> searchMeetings(
+            @RequestParam("q") String query,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        List<Meeting> meetings = meetingService.searchMeetings(query, from, to, userId, limit);
         return ResponseEntity.ok(meetingMapper.toResponseDTOList(meetings));
     }
 
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildSearchIndex() {
+        int indexed = meetingService.rebuildSearchIndex();
+        return ResponseEntity.ok(Map.of("indexedMeetings", indexed));
+    }
+
     @GetMapping("/organizer/{organizerId}")
-    public ResponseEntity<List<MeetingResponseDTO>> getMeetingsByOrganizer(@PathVariable("organizerId") Long organizerId) {
-        List<Meeting> meetings = meetingService.getMeetingsByOrganizer(organizerId);
-        return ResponseEntity.ok(meetingMapper.toResponseDTOList(meetings));
+    public ResponseEntity<List<MeetingResponseDTO>> getMeetingsByOrganizer(
+            @PathVariable("organizerId") Long organizerId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, MeetingMapper.FIELDS);
+        List<Meeting> meetings = meetingService.getMeetingsByOrganizer(organizerId, from, to, selection);
+        return ResponseEntity.ok(meetingMapper.toResponseDTOList(meetings, selection));
+    }
+    
+    @GetMapping(value = "/organizer/{organizerId}", params = "shape=normalized")
+    public ResponseEntity<NormalizedMeetingListDTO> getMeetingsByOrganizerNormalized(
+            @PathVariable("organizerId") Long organizerId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<Meeting> meetings = meetingService.getMeetingsByOrganizer(organizerId, from, to);
+        return ResponseEntity.ok(meetingMapper.toNormalizedListDTO(meetings));
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<MeetingResponseDTO>> getMeetingsByUser(@PathVariable("userId") Long userId) {
-        List<Meeting> meetings = meetingService.getMeetingsByUser(userId);
-        return ResponseEntity.ok(meetingMapper.toResponseDTOList(meetings));
+    public ResponseEntity<List<MeetingResponseDTO>> getMeetingsByUser(
+            @PathVariable("userId") Long userId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, MeetingMapper.FIELDS);
+        List<MeetingResponseDTO> meetings = singleFlight.execute("meetings-by-user", userId,
+                Arrays.asList(from, to, page, size, fields),
+                () -> meetingMapper.toResponseDTOList(
+                        meetingService.getMeetingsByUser(userId, from, to, page, size, selection), selection));
+        return ResponseEntity.ok(meetings);
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "shape=normalized")
+    public ResponseEntity<NormalizedMeetingListDTO> getMeetingsByUserNormalized(
+            @PathVariable("userId") Long userId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        NormalizedMeetingListDTO meetings = singleFlight.execute("meetings-by-user-normalized", userId,
+                Arrays.asList(from, to, page, size),
+                () -> meetingMapper.toNormalizedListDTO(meetingService.getMeetingsByUser(userId, from, to, page, size)));
+        return ResponseEntity.ok(meetings);
     }
 
     @PutMapping("/{id}")
@@ -93,6 +222,29 @@ public class MeetingController {
         return ResponseEntity.ok(meetingMapper.toResponseDTO(meeting));
     }
 
+    @GetMapping("/{meetingId}/participants")
+    public ResponseEntity<PageResponseDTO<UserResponseDTO>> getParticipants(
+            @PathVariable("meetingId") Long meetingId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "100") int size) {
+        Page<User> participants = meetingService.getParticipants(meetingId, page, size);
+        return ResponseEntity.ok(PageResponseDTO.<UserResponseDTO>builder()
+                .items(userMapper.toResponseDTOList(participants.getContent()))
+                .page(participants.getNumber())
+                .size(participants.getSize())
+                .totalElements(participants.getTotalElements())
+                .totalPages(participants.getTotalPages())
+                .build());
+    }
+
+    @PostMapping("/{meetingId}/participants")
+    public ResponseEntity<MeetingResponseDTO> addParticipants(
+            @PathVariable("meetingId") Long meetingId,
+            @RequestBody List<Long> userIds) {
+        Meeting meeting = meetingService.addParticipants(meetingId, userIds);
+        return ResponseEntity.ok(meetingMapper.toResponseDTO(meeting));
+    }
+
     @DeleteMapping("/{meetingId}/participants/{userId}")
     public ResponseEntity<MeetingResponseDTO> removeParticipant(
             @PathVariable("meetingId") Long meetingId,
@@ -1,17 +1,31 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.BatchResponseDTO;
+import com.example.backend.dto.UserDeletionJobDTO;
 import com.example.backend.dto.UserRequestDTO;
 import com.example.backend.dto.UserResponseDTO;
 import com.example.backend.dto.UserUpdateRequestDTO;
 import com.example.backend.entity.User;
+import com.example.backend.mapper.FieldSelection;
 import com.example.backend.mapper.UserMapper;
+import com.example.backend.service.CalendarFeedService;
+import com.example.backend.service.IdempotencyService;
+import com.example.backend.service.UserDeletionService;
 import com.example.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -21,12 +35,21 @@ public class UserController {
 
     private final UserService userService;
     private final UserMapper userMapper;
+    private final CalendarFeedService calendarFeedService;
+    private final IdempotencyService idempotencyService;
+
+    @Value("${app.calendar.feed.max-age-seconds:300}")
+    private long calendarMaxAgeSeconds;
 
     @PostMapping
-    public ResponseEntity<UserResponseDTO> createUser(@RequestBody UserRequestDTO request) {
-        User user = userMapper.toEntity(request);
-        User createdUser = userService.createUser(user);
-        return new ResponseEntity<>(userMapper.toResponseDTO(createdUser), HttpStatus.CREATED);
+    public ResponseEntity<UserResponseDTO> createUser(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody UserRequestDTO request) {
+        return idempotencyService.execute("users", idempotencyKey, request, UserResponseDTO.class, () -> {
+            User user = userMapper.toEntity(request);
+            User createdUser = userService.createUser(user);
+            return new ResponseEntity<>(userMapper.toResponseDTO(createdUser), HttpStatus.CREATED);
+        });
     }
 
     @GetMapping("/{id}")
@@ -36,9 +59,39 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
+    public ResponseEntity<List<UserResponseDTO>> getAllUsers(
+            @RequestParam(value = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, UserMapper.FIELDS);
         List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(userMapper.toResponseDTOList(users));
+        return ResponseEntity.ok(userMapper.toResponseDTOList(users, selection));
+    }
+
+    /**
+     * Batch lookup, e.g. {@code ?ids=3,1,7}; unknown ids are listed in {@code missingIds}.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponseDTO<UserResponseDTO>> getUsersByIds(@RequestParam("ids") List<Long> ids) {
+        List<User> users = userService.getUsersByIds(ids);
+        Set<Long> found = users.stream().map(User::getId).collect(Collectors.toSet());
+        return ResponseEntity.ok(BatchResponseDTO.<UserResponseDTO>builder()
+                .items(userMapper.toResponseDTOList(users))
+                .missingIds(ids.stream().distinct().filter(id -> !found.contains(id)).collect(Collectors.toList()))
+                .build());
+    }
+
+    @GetMapping(value = "/{id}/calendar.ics", produces = "text/calendar")
+    public ResponseEntity<byte[]> getCalendarFeed(@PathVariable("id") Long id, WebRequest webRequest) {
+        CacheControl cacheControl = CacheControl.maxAge(calendarMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate();
+        String etag = calendarFeedService.currentETag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        CalendarFeedService.CalendarFeed feed = calendarFeedService.getFeed(id);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .eTag(feed.etag())
+                .cacheControl(cacheControl)
+                .body(feed.body());
     }
 
     @PutMapping("/{id}")
@@ -67,12 +120,26 @@ public class UserController {
         return ResponseEntity.ok(userMapper.toResponseDTO(updatedUser));
     }
 
+    /**
+     * With {@code async=true} the purge runs as a background job polled under /deletion-jobs.
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable("id") Long id) {
+    public ResponseEntity<?> deleteUser(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "async", defaultValue = "false") boolean async) {
+        if (async) {
+            UserDeletionService.DeletionJob job = userService.startUserDeletion(id);
+            return ResponseEntity.accepted().body(toDeletionJobDTO(job));
+        }
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/deletion-jobs/{jobId}")
+    public ResponseEntity<UserDeletionJobDTO> getDeletionJob(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(toDeletionJobDTO(userService.getDeletionJob(jobId)));
+    }
+
     /**
      * Alternative delete endpoint that reads the user id from the request body.
      */
@@ -81,4 +148,16 @@ public class UserController {
         userService.deleteUser(request.getId());
         return ResponseEntity.noContent().build();
     }
+
+    private UserDeletionJobDTO toDeletionJobDTO(UserDeletionService.DeletionJob job) {
+        return UserDeletionJobDTO.builder()
+                .id(job.getId())
+                .userId(job.getUserId())
+                .status(job.getStatus().name())
+                .rowsDeleted(job.getRowsDeleted().get())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError())
+                .build();
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Totals include archived rows; the other figures cover meetings starting within the window
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminStatsDTO {
+    private long totalUsers;
+    private long totalMeetings;
+    private long totalAgendas;
+    private double averageParticipants;
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private List<DayCount> meetingsPerDay;
+    private List<DayCount> meetingsPerWeek;
+    private List<UserCount> busiestUsers;
+    private LocalDateTime reconciledAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DayCount {
+        private LocalDate date;
+        private long meetings;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UserCount {
+        private Long userId;
+        private String name;
+        private long meetings;
+    }
+}
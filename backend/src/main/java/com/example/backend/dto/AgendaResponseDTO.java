@@ -1,6 +1,7 @@
 package com.example.backend.dto;
 
 import com.example.backend.entity.AgendaStatus;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +14,7 @@ import java.time.LocalTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter("agendaFields")
 public class AgendaResponseDTO {
     private Long id;
     private Long userId;
@@ -0,0 +1,20 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityResponseDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private List<Long> freeUserIds;
+    private List<Long> busyUserIds;
+}
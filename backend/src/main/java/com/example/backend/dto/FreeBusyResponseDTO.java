@@ -0,0 +1,38 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Per user, disjoint busy intervals sorted and clipped to the requested range
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FreeBusyResponseDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private List<UserBusy> users;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UserBusy {
+        private Long userId;
+        private List<Interval> busy;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Interval {
+        private LocalDateTime start;
+        private LocalDateTime end;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalEntryDTO {
+    private long sequence;
+    private LocalDateTime timestamp;
+    private String type;
+    private long entityId;
+    private Long actorId;
+    private Long ownerId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private List<Long> userIds;
+    private List<LocalDate> days;
+}
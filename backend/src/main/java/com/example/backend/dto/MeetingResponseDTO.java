@@ -1,5 +1,6 @@
 package com.example.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,10 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// participants is left out for large meetings; page through /api/meetings/{id}/participants
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter("meetingFields")
 public class MeetingResponseDTO {
     private Long id;
     private String title;
@@ -20,4 +23,5 @@ public class MeetingResponseDTO {
     private LocalDateTime endTime;
     private UserResponseDTO organizer;
     private List<UserResponseDTO> participants;
+    private Integer participantCount;
 }
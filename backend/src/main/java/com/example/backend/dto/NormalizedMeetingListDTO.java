@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Each referenced user appears once in users; meetings refer to them by id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NormalizedMeetingListDTO {
+    private List<NormalizedMeetingDTO> meetings;
+    private List<UserResponseDTO> users;
+}
@@ -0,0 +1,35 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// complete is false when some sessions could not be placed in time; they are listed in unscheduled
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulePlanDTO {
+    private boolean complete;
+    private List<Assignment> scheduled;
+    private List<String> unscheduled;
+    private int sessions;
+    private int attendees;
+    private long candidates;
+    private long nodesExplored;
+    private long solveMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Assignment {
+        private String key;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+    }
+}
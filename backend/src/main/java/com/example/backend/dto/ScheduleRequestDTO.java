@@ -0,0 +1,32 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleRequestDTO {
+    private List<Session> sessions;
+    private Integer stepMinutes;
+    private Long timeBudgetMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Session {
+        private String key;
+        private Long organizerId;
+        private List<Long> participantIds;
+        private int durationMinutes;
+        private LocalDateTime windowStart;
+        private LocalDateTime windowEnd;
+    }
+}
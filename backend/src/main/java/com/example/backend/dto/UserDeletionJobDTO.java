@@ -0,0 +1,22 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDeletionJobDTO {
+    private String id;
+    private Long userId;
+    private String status;
+    private long rowsDeleted;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -2,12 +2,18 @@ package com.example.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "agendas")
+@Table(name = "agendas", indexes = {
+    @Index(name = "idx_agendas_user_date_start", columnList = "user_id, date, start_time")
+})
+// Entries of deleted meetings and users stay until they are purged but must not be seen
+@SQLRestriction("(meeting_id IS NULL OR NOT EXISTS (SELECT 1 FROM meetings m WHERE m.id = meeting_id AND m.deleted_at IS NOT NULL)) " +
+        "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.id = user_id AND u.deleted_at IS NOT NULL)")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,51 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Archived copy of a Meeting; keeps the original id
+@Entity
+@Table(name = "meetings_archive", indexes = {
+    @Index(name = "idx_meetings_archive_organizer_start", columnList = "organizer_id, start_time")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedMeeting {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "organizer_id", nullable = false)
+    private User organizer;
+
+    @ManyToMany
+    @JoinTable(
+        name = "meeting_participants_archive",
+        joinColumns = @JoinColumn(name = "meeting_id"),
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_meeting_participants_archive_user", columnList = "user_id, meeting_id")
+    )
+    private List<User> participants;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
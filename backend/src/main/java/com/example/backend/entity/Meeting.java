@@ -2,12 +2,18 @@ package com.example.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "meetings")
+@Table(name = "meetings", indexes = {
+    @Index(name = "idx_meetings_organizer_start_end", columnList = "organizer_id, start_time, end_time"),
+    @Index(name = "idx_meetings_start_end", columnList = "start_time, end_time"),
+    @Index(name = "idx_meetings_deleted_at", columnList = "deleted_at")
+})
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,7 +45,17 @@ public class Meeting {
     @JoinTable(
         name = "meeting_participants",
         joinColumns = @JoinColumn(name = "meeting_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_meeting_participants_user_meeting", columnList = "user_id, meeting_id")
     )
-    private List<User> participants;
+    @OrderBy("id")
+    private Set<User> participants;
+    
+    // Kept in step with the join table by MeetingService; null for rows written before the column existed
+    @Column(name = "participant_count")
+    private Integer participantCount;
+    
+    // Deleted rows stay until DeletionPurgeService removes them
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
@@ -0,0 +1,24 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// BitSet bytes at BusyBitmapService.SLOT_MINUTES granularity: slots touched by any busy interval, and slots fully covered
+@Entity
+@Table(name = "user_busy_days")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBusyDay {
+
+    @EmbeddedId
+    private UserBusyDayId id;
+
+    @Column(name = "any_busy", nullable = false, length = 12)
+    private byte[] anyBusy;
+
+    @Column(name = "fully_busy", nullable = false, length = 12)
+    private byte[] fullyBusy;
+}
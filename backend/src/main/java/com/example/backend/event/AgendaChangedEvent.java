@@ -0,0 +1,24 @@
+package com.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+// days holds the entry's date before and after the change
+@Getter
+@AllArgsConstructor
+public class AgendaChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long agendaId;
+    private final Long userId;
+    private final Set<LocalDate> days;
+}
@@ -0,0 +1,29 @@
+package com.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * {@code before} is null for creations and {@code after} for deletions. Participant events
+ * carry snapshots without participant ids and list only the added or removed users.
+ */
+@Getter
+@AllArgsConstructor
+public class MeetingChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        PARTICIPANT_ADDED,
+        PARTICIPANT_REMOVED
+    }
+
+    private final Type type;
+    private final Long meetingId;
+    private final MeetingSnapshot before;
+    private final MeetingSnapshot after;
+    private final Set<Long> affectedUserIds;
+}
@@ -0,0 +1,60 @@
+package com.example.backend.event;
+
+import com.example.backend.entity.Meeting;
+import com.example.backend.entity.User;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Taken inside the transaction for listeners that run after commit; participantIds is null when not loaded
+@Getter
+@Builder
+public class MeetingSnapshot {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Long organizerId;
+    private final Set<Long> participantIds;
+
+    public static MeetingSnapshot of(Meeting meeting) {
+        return MeetingSnapshot.builder()
+                .id(meeting.getId())
+                .title(meeting.getTitle())
+                .description(meeting.getDescription())
+                .startTime(meeting.getStartTime())
+                .endTime(meeting.getEndTime())
+                .organizerId(meeting.getOrganizer() != null ? meeting.getOrganizer().getId() : null)
+                .participantIds(meeting.getParticipants() != null
+                        ? meeting.getParticipants().stream().map(User::getId).collect(Collectors.toUnmodifiableSet())
+                        : Set.of())
+                .build();
+    }
+
+    public static MeetingSnapshot of(Meeting meeting, Set<Long> participantIds) {
+        return MeetingSnapshot.builder()
+                .id(meeting.getId())
+                .title(meeting.getTitle())
+                .description(meeting.getDescription())
+                .startTime(meeting.getStartTime())
+                .endTime(meeting.getEndTime())
+                .organizerId(meeting.getOrganizer() != null ? meeting.getOrganizer().getId() : null)
+                .participantIds(Set.copyOf(participantIds))
+                .build();
+    }
+
+    public static MeetingSnapshot withoutParticipants(Meeting meeting) {
+        return MeetingSnapshot.builder()
+                .id(meeting.getId())
+                .title(meeting.getTitle())
+                .description(meeting.getDescription())
+                .startTime(meeting.getStartTime())
+                .endTime(meeting.getEndTime())
+                .organizerId(meeting.getOrganizer() != null ? meeting.getOrganizer().getId() : null)
+                .build();
+    }
+}
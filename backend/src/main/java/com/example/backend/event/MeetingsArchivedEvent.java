@@ -0,0 +1,14 @@
+package com.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// One per archive batch; the meetings still exist in meetings_archive
+@Getter
+@AllArgsConstructor
+public class MeetingsArchivedEvent {
+
+    private final List<Long> meetingIds;
+}
@@ -0,0 +1,26 @@
+package com.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+// affectedUserIds are the users whose schedules show this user, including the user themselves
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    public enum Type {
+        CREATED,
+        DELETED,
+        UPDATED
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final Set<Long> affectedUserIds;
+
+    public UserChangedEvent(Type type, Long userId) {
+        this(type, userId, Set.of(userId));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.backend.exception;
+
+public class ConcurrentBookingException extends RuntimeException {
+    public ConcurrentBookingException(String message) {
+        super(message);
+    }
+}
@@ -6,11 +6,15 @@ import com.example.backend.entity.Agenda;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 public class AgendaMapper {
 
+    public static final Set<String> FIELDS = Set.of(
+            "id", "userId", "userName", "meetingId", "meetingTitle", "date", "startTime", "endTime", "status");
+
     public Agenda toEntity(AgendaRequestDTO dto) {
         return Agenda.builder()
                 .date(dto.getDate())
@@ -21,22 +25,47 @@ public class AgendaMapper {
     }
 
     public AgendaResponseDTO toResponseDTO(Agenda entity) {
-        return AgendaResponseDTO.builder()
-                .id(entity.getId())
-                .userId(entity.getUser().getId())
-                .userName(entity.getUser().getName())
-                .meetingId(entity.getMeeting() != null ? entity.getMeeting().getId() : null)
-                .meetingTitle(entity.getMeeting() != null ? entity.getMeeting().getTitle() : null)
-                .date(entity.getDate())
-                .startTime(entity.getStartTime())
-                .endTime(entity.getEndTime())
-                .status(entity.getStatus())
-                .build();
+        return toResponseDTO(entity, FieldSelection.ALL);
+    }
+
+    // Ids come from the lazy proxies; the rows are only read for userName and meetingTitle
+    public AgendaResponseDTO toResponseDTO(Agenda entity, FieldSelection fields) {
+        AgendaResponseDTO.AgendaResponseDTOBuilder builder = AgendaResponseDTO.builder()
+                .id(entity.getId());
+        if (fields.includes("userId")) {
+            builder.userId(entity.getUser().getId());
+        }
+        if (fields.includes("userName")) {
+            builder.userName(entity.getUser().getName());
+        }
+        if (fields.includes("meetingId")) {
+            builder.meetingId(entity.getMeeting() != null ? entity.getMeeting().getId() : null);
+        }
+        if (fields.includes("meetingTitle")) {
+            builder.meetingTitle(entity.getMeeting() != null ? entity.getMeeting().getTitle() : null);
+        }
+        if (fields.includes("date")) {
+            builder.date(entity.getDate());
+        }
+        if (fields.includes("startTime")) {
+            builder.startTime(entity.getStartTime());
+        }
+        if (fields.includes("endTime")) {
+            builder.endTime(entity.getEndTime());
+        }
+        if (fields.includes("status")) {
+            builder.status(entity.getStatus());
+        }
+        return builder.build();
     }
 
     public List<AgendaResponseDTO> toResponseDTOList(List<Agenda> entities) {
+        return toResponseDTOList(entities, FieldSelection.ALL);
+    }
+
+    public List<AgendaResponseDTO> toResponseDTOList(List<Agenda> entities, FieldSelection fields) {
         return entities.stream()
-                .map(this::toResponseDTO)
+                .map(entity -> toResponseDTO(entity, fields))
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,43 @@
+package com.example.backend.mapper;
+
+import com.example.backend.exception.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Parsed {@code fields=} parameter; mappers skip the associations behind unrequested fields.
+ */
+public final class FieldSelection {
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    // A null or blank value selects every field
+    public static FieldSelection parse(String raw, Set<String> allowed) {
+        if (raw == null || raw.isBlank()) {
+            return ALL;
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        Arrays.stream(raw.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .forEach(fields::add);
+        for (String field : fields) {
+            if (!allowed.contains(field)) {
+                throw new InvalidRequestException("Unknown field '" + field + "', allowed fields are " + allowed);
+            }
+        }
+        return fields.isEmpty() ? ALL : new FieldSelection(fields);
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+}
@@ -2,19 +2,33 @@ package com.example.backend.mapper;
 
 import com.example.backend.dto.MeetingRequestDTO;
 import com.example.backend.dto.MeetingResponseDTO;
+import com.example.backend.dto.NormalizedMeetingDTO;
+import com.example.backend.dto.NormalizedMeetingListDTO;
 import com.example.backend.entity.Meeting;
+import com.example.backend.entity.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class MeetingMapper {
 
+    public static final Set<String> FIELDS = Set.of(
+            "id", "title", "description", "startTime", "endTime", "organizer", "participants", "participantCount");
+
     private final UserMapper userMapper;
 
+    @Value("${app.meetings.inline-participants-max:200}")
+    private int inlineParticipantsMax;
+
     public Meeting toEntity(MeetingRequestDTO dto) {
         return Meeting.builder()
                 .title(dto.getTitle())
@@ -25,24 +39,84 @@ public class MeetingMapper {
     }
 
     public MeetingResponseDTO toResponseDTO(Meeting entity) {
-        return MeetingResponseDTO.builder()
-                .id(entity.getId())
-                .title(entity.getTitle())
-                .description(entity.getDescription())
-                .startTime(entity.getStartTime())
-                .endTime(entity.getEndTime())
-                .organizer(userMapper.toResponseDTO(entity.getOrganizer()))
-                .participants(entity.getParticipants() != null ? 
-                        userMapper.toResponseDTOList(entity.getParticipants()) : List.of())
-                .build();
+        return toResponseDTO(entity, FieldSelection.ALL);
+    }
+
+    public MeetingResponseDTO toResponseDTO(Meeting entity, FieldSelection fields) {
+        MeetingResponseDTO.MeetingResponseDTOBuilder builder = MeetingResponseDTO.builder()
+                .id(entity.getId());
+        if (fields.includes("title")) {
+            builder.title(entity.getTitle());
+        }
+        if (fields.includes("description")) {
+            builder.description(entity.getDescription());
+        }
+        if (fields.includes("startTime")) {
+            builder.startTime(entity.getStartTime());
+        }
+        if (fields.includes("endTime")) {
+            builder.endTime(entity.getEndTime());
+        }
+        if (fields.includes("organizer")) {
+            builder.organizer(userMapper.toResponseDTO(entity.getOrganizer()));
+        }
+        if (fields.includes("participants") || fields.includes("participantCount")) {
+            int participantCount = participantCountOf(entity);
+            builder.participantCount(participantCount);
+            if (fields.includes("participants") && participantCount <= inlineParticipantsMax) {
+                builder.participants(entity.getParticipants() != null ? 
+                        userMapper.toResponseDTOList(new ArrayList<>(entity.getParticipants())) : List.of());
+            }
+        }
+        return builder.build();
+    }
+
+    // Rows from before the count column existed fall back to loading the participants
+    private static int participantCountOf(Meeting entity) {
+        if (entity.getParticipantCount() != null) {
+            return entity.getParticipantCount();
+        }
+        return entity.getParticipants() != null ? entity.getParticipants().size() : 0;
     }
 
     public List<MeetingResponseDTO> toResponseDTOList(List<Meeting> entities) {
+        return toResponseDTOList(entities, FieldSelection.ALL);
+    }
+
+    public List<MeetingResponseDTO> toResponseDTOList(List<Meeting> entities, FieldSelection fields) {
         return entities.stream()
-                .map(this::toResponseDTO)
+                .map(entity -> toResponseDTO(entity, fields))
                 .collect(Collectors.toList());
     }
 
+    public NormalizedMeetingListDTO toNormalizedListDTO(List<Meeting> entities) {
+        Map<Long, User> users = new LinkedHashMap<>();
+        List<NormalizedMeetingDTO> meetings = new ArrayList<>(entities.size());
+        for (Meeting entity : entities) {
+            users.putIfAbsent(entity.getOrganizer().getId(), entity.getOrganizer());
+            List<Long> participantIds = new ArrayList<>();
+            if (entity.getParticipants() != null) {
+                for (User participant : entity.getParticipants()) {
+                    users.putIfAbsent(participant.getId(), participant);
+                    participantIds.add(participant.getId());
+                }
+            }
+            meetings.add(NormalizedMeetingDTO.builder()
+                    .id(entity.getId())
+                    .title(entity.getTitle())
+                    .description(entity.getDescription())
+                    .startTime(entity.getStartTime())
+                    .endTime(entity.getEndTime())
+                    .organizerId(entity.getOrganizer().getId())
+                    .participantIds(participantIds)
+                    .build());
+        }
+        return NormalizedMeetingListDTO.builder()
+                .meetings(meetings)
+                .users(userMapper.toResponseDTOList(new ArrayList<>(users.values())))
+                .build();
+    }
+
     public void updateEntityFromDTO(MeetingRequestDTO dto, Meeting entity) {
         entity.setTitle(dto.getTitle());
         entity.setDescription(dto.getDescription());
@@ -6,11 +6,14 @@ import com.example.backend.entity.User;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 public class UserMapper {
 
+    public static final Set<String> FIELDS = Set.of("id", "name", "email", "role");
+
     public User toEntity(UserRequestDTO dto) {
         return User.builder()
                 .name(dto.getName())
@@ -21,17 +24,31 @@ public class UserMapper {
     }
 
     public UserResponseDTO toResponseDTO(User entity) {
-        return UserResponseDTO.builder()
-                .id(entity.getId())
-                .name(entity.getName())
-                .email(entity.getEmail())
-                .role(entity.getRole())
-                .build();
+        return toResponseDTO(entity, FieldSelection.ALL);
+    }
+
+    public UserResponseDTO toResponseDTO(User entity, FieldSelection fields) {
+        UserResponseDTO.UserResponseDTOBuilder builder = UserResponseDTO.builder()
+                .id(entity.getId());
+        if (fields.includes("name")) {
+            builder.name(entity.getName());
+        }
+        if (fields.includes("email")) {
+            builder.email(entity.getEmail());
+        }
+        if (fields.includes("role")) {
+            builder.role(entity.getRole());
+        }
+        return builder.build();
     }
 
     public List<UserResponseDTO> toResponseDTOList(List<User> entities) {
+        return toResponseDTOList(entities, FieldSelection.ALL);
+    }
+
+    public List<UserResponseDTO> toResponseDTOList(List<User> entities, FieldSelection fields) {
         return entities.stream()
-                .map(this::toResponseDTO)
+                .map(entity -> toResponseDTO(entity, fields))
                 .collect(Collectors.toList());
     }
 
@@ -2,9 +2,14 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.Agenda;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +17,35 @@ public interface AgendaRepository extends JpaRepository<Agenda, Long> {
     List<Agenda> findByUserId(Long userId);
     List<Agenda> findByUserIdAndDate(Long userId, LocalDate date);
     List<Agenda> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO agendas (user_id, meeting_id, date, start_time, end_time, status) " +
+            "SELECT id, :meetingId, :date, :startTime, :endTime, 'BUSY' FROM users WHERE id IN (:userIds) " +
+            "AND deleted_at IS NULL",
+            nativeQuery = true)
+    int insertMeetingAgendas(@Param("meetingId") Long meetingId,
+                             @Param("userIds") Collection<Long> userIds,
+                             @Param("date") LocalDate date,
+                             @Param("startTime") LocalTime startTime,
+                             @Param("endTime") LocalTime endTime);
+
+    @Modifying
+    @Query(value = "UPDATE agendas SET date = :date, start_time = :startTime, end_time = :endTime " +
+            "WHERE meeting_id = :meetingId", nativeQuery = true)
+    int rescheduleMeetingAgendas(@Param("meetingId") Long meetingId,
+                                 @Param("date") LocalDate date,
+                                 @Param("startTime") LocalTime startTime,
+                                 @Param("endTime") LocalTime endTime);
+
+    @Modifying
+    @Query(value = "DELETE FROM agendas WHERE meeting_id = :meetingId AND user_id = :userId", nativeQuery = true)
+    int deleteByMeetingIdAndUserId(@Param("meetingId") Long meetingId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM agendas WHERE meeting_id IN (:meetingIds)", nativeQuery = true)
+    int deleteByMeetingIds(@Param("meetingIds") Collection<Long> meetingIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM agendas WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteByUserIdLimited(@Param("userId") Long userId, @Param("limit") int limit);
 }
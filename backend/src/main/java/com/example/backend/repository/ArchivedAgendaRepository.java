@@ -0,0 +1,52 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ArchivedAgenda;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedAgendaRepository extends JpaRepository<ArchivedAgenda, Long> {
+
+    List<ArchivedAgenda> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    @Query(value = "SELECT id FROM agendas WHERE meeting_id IS NULL AND date < :cutoff ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findHotStandaloneAgendaIdsBefore(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO agendas_archive (id, user_id, meeting_id, date, start_time, end_time, status, archived_at) " +
+            "SELECT id, user_id, meeting_id, date, start_time, end_time, status, :archivedAt FROM agendas " +
+            "WHERE meeting_id IN (:meetingIds)",
+            nativeQuery = true)
+    int copyAgendasOfMeetings(@Param("meetingIds") Collection<Long> meetingIds,
+                              @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO agendas_archive (id, user_id, meeting_id, date, start_time, end_time, status, archived_at) " +
+            "SELECT id, user_id, meeting_id, date, start_time, end_time, status, :archivedAt FROM agendas " +
+            "WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyAgendas(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM agendas WHERE meeting_id IN (:meetingIds)", nativeQuery = true)
+    int deleteHotAgendasOfMeetings(@Param("meetingIds") Collection<Long> meetingIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM agendas WHERE id IN (:ids)", nativeQuery = true)
+    int deleteHotAgendas(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM agendas_archive WHERE user_id = :userId " +
+            "OR meeting_id IN (SELECT id FROM meetings_archive WHERE organizer_id = :userId)",
+            nativeQuery = true)
+    int deleteAgendasOfUser(@Param("userId") Long userId);
+}
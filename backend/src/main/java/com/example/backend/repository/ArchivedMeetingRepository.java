@@ -0,0 +1,76 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ArchivedMeeting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedMeetingRepository extends JpaRepository<ArchivedMeeting, Long> {
+
+    String USER_MEETING_IDS = "SELECT id FROM meetings_archive " +
+            "WHERE organizer_id = :userId AND start_time >= :from AND start_time < :to " +
+            "UNION " +
+            "SELECT mp.meeting_id FROM meeting_participants_archive mp JOIN meetings_archive pm ON pm.id = mp.meeting_id " +
+            "WHERE mp.user_id = :userId AND pm.start_time >= :from AND pm.start_time < :to";
+
+    @Query("select m from ArchivedMeeting m where m.organizer.id = :organizerId " +
+            "and m.startTime >= :from and m.startTime < :to order by m.startTime")
+    List<ArchivedMeeting> findByOrganizerIdInWindow(@Param("organizerId") Long organizerId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT m.* FROM (" + USER_MEETING_IDS + ") ids JOIN meetings_archive m ON m.id = ids.id " +
+            "ORDER BY m.start_time, m.id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<ArchivedMeeting> findByUserInWindow(@Param("userId") Long userId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("limit") int limit,
+                                             @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) FROM (" + USER_MEETING_IDS + ") ids", nativeQuery = true)
+    long countByUserInWindow(@Param("userId") Long userId,
+                             @Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to);
+
+    // Deleted meetings are left to the purge rather than archived
+    @Query(value = "SELECT id FROM meetings WHERE end_time < :cutoff AND deleted_at IS NULL ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findHotMeetingIdsEndingBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO meetings_archive (id, title, description, start_time, end_time, organizer_id, archived_at) " +
+            "SELECT id, title, description, start_time, end_time, organizer_id, :archivedAt FROM meetings WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyMeetings(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO meeting_participants_archive (meeting_id, user_id) " +
+            "SELECT meeting_id, user_id FROM meeting_participants WHERE meeting_id IN (:ids)",
+            nativeQuery = true)
+    int copyParticipants(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM meeting_participants WHERE meeting_id IN (:ids)", nativeQuery = true)
+    int deleteHotParticipants(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM meetings WHERE id IN (:ids)", nativeQuery = true)
+    int deleteHotMeetings(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM meeting_participants_archive WHERE user_id = :userId " +
+            "OR meeting_id IN (SELECT id FROM meetings_archive WHERE organizer_id = :userId)",
+            nativeQuery = true)
+    int deleteParticipantsOfUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM meetings_archive WHERE organizer_id = :userId", nativeQuery = true)
+    int deleteMeetingsOrganizedBy(@Param("userId") Long userId);
+}
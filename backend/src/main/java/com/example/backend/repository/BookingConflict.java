@@ -0,0 +1,9 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+
+public interface BookingConflict {
+    Long getUserId();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+}
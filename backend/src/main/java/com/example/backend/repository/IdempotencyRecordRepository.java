@@ -0,0 +1,53 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Returns 0 when another request already holds the key
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (idempotency_key, fingerprint, expires_at) " +
+            "VALUES (:key, :fingerprint, :expiresAt)", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("fingerprint") String fingerprint,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET status_code = :statusCode, response_body = :body, " +
+            "expires_at = :expiresAt WHERE idempotency_key = :key", nativeQuery = true)
+    int complete(@Param("key") String key, @Param("statusCode") int statusCode, @Param("body") String body,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key = :key AND status_code IS NULL",
+            nativeQuery = true)
+    int release(@Param("key") String key);
+
+    // Scalar columns, so polling is never answered from the persistence context
+    @Query(value = "SELECT fingerprint, status_code, response_body, expires_at FROM idempotency_keys " +
+            "WHERE idempotency_key = :key", nativeQuery = true)
+    List<Object[]> findState(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key = :key AND expires_at < :now",
+            nativeQuery = true)
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -1,15 +1,284 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.Meeting;
+import com.example.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MeetingRepository extends JpaRepository<Meeting, Long> {
     List<Meeting> findByOrganizerId(Long organizerId);
     List<Meeting> findByParticipantsId(Long participantId);
     List<Meeting> findByStartTimeBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query("select m from Meeting m where m.organizer.id = :organizerId " +
+            "and m.startTime >= :from and m.startTime < :to order by m.startTime")
+    List<Meeting> findByOrganizerIdInWindow(@Param("organizerId") Long organizerId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    // Both branches use the (organizer_id, start_time) and (user_id, meeting_id) indexes
+    @Query(value = "SELECT m.* FROM (" +
+            "SELECT id FROM meetings WHERE organizer_id = :userId AND start_time >= :from AND start_time < :to " +
+            "AND deleted_at IS NULL " +
+            "UNION " +
+            "SELECT mp.meeting_id FROM meeting_participants mp JOIN meetings pm ON pm.id = mp.meeting_id " +
+            "WHERE mp.user_id = :userId AND pm.start_time >= :from AND pm.start_time < :to AND pm.deleted_at IS NULL" +
+            ") ids JOIN meetings m ON m.id = ids.id " +
+            "ORDER BY m.start_time, m.id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Meeting> findByUserInWindow(@Param("userId") Long userId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("limit") int limit,
+                                     @Param("offset") long offset);
+
+    // Rows as [id, title, start_time, end_time, organizer_id, participant_count]
+    @Query("select m.id, m.title, m.startTime, m.endTime, m.organizer.id, " +
+            "coalesce(m.participantCount, size(m.participants)) from Meeting m")
+    List<Object[]> findAllSummaries();
+
+    @Query("select m.id, m.title, m.startTime, m.endTime, m.organizer.id, " +
+            "coalesce(m.participantCount, size(m.participants)) from Meeting m " +
+            "where m.organizer.id = :organizerId and m.startTime >= :from and m.startTime < :to order by m.startTime")
+    List<Object[]> findSummariesByOrganizerIdInWindow(@Param("organizerId") Long organizerId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT m.id, m.title, m.start_time, m.end_time, m.organizer_id, " +
+            "COALESCE(m.participant_count, (SELECT COUNT(*) FROM meeting_participants c WHERE c.meeting_id = m.id)) " +
+            "FROM (" +
+            "SELECT id FROM meetings WHERE organizer_id = :userId AND start_time >= :from AND start_time < :to " +
+            "AND deleted_at IS NULL " +
+            "UNION " +
+            "SELECT mp.meeting_id FROM meeting_participants mp JOIN meetings pm ON pm.id = mp.meeting_id " +
+            "WHERE mp.user_id = :userId AND pm.start_time >= :from AND pm.start_time < :to AND pm.deleted_at IS NULL" +
+            ") ids JOIN meetings m ON m.id = ids.id " +
+            "ORDER BY m.start_time, m.id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Object[]> findSummariesByUserInWindow(@Param("userId") Long userId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("limit") int limit,
+                                               @Param("offset") long offset);
+
+    @Query("select m.organizer.id as userId, m.startTime as startTime, m.endTime as endTime from Meeting m " +
+            "where m.organizer.id in :userIds and m.id <> :excludeMeetingId " +
+            "and m.startTime < :end and m.endTime > :start")
+    List<BookingConflict> findOrganizerConflicts(@Param("userIds") Collection<Long> userIds,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end,
+                                                 @Param("excludeMeetingId") Long excludeMeetingId,
+                                                 Pageable pageable);
+
+    @Query("select p.id as userId, m.startTime as startTime, m.endTime as endTime from Meeting m join m.participants p " +
+            "where p.id in :userIds and m.id <> :excludeMeetingId " +
+            "and m.startTime < :end and m.endTime > :start")
+    List<BookingConflict> findParticipantConflicts(@Param("userIds") Collection<Long> userIds,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("end") LocalDateTime end,
+                                                   @Param("excludeMeetingId") Long excludeMeetingId,
+                                                   Pageable pageable);
+
+    // First overlap for any attendee of the meeting, as [user_id, start_time, end_time]
+    @Query(value = "SELECT c.user_id, c.start_time, c.end_time FROM (" +
+            "SELECT a.user_id, m.start_time, m.end_time FROM (" +
+            "SELECT organizer_id AS user_id FROM meetings WHERE id = :meetingId " +
+            "UNION SELECT user_id FROM meeting_participants WHERE meeting_id = :meetingId) a " +
+            "JOIN meetings m ON m.organizer_id = a.user_id " +
+            "WHERE m.id <> :meetingId AND m.start_time < :end AND m.end_time > :start AND m.deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT a.user_id, m.start_time, m.end_time FROM (" +
+            "SELECT organizer_id AS user_id FROM meetings WHERE id = :meetingId " +
+            "UNION SELECT user_id FROM meeting_participants WHERE meeting_id = :meetingId) a " +
+            "JOIN meeting_participants mp ON mp.user_id = a.user_id " +
+            "JOIN meetings m ON m.id = mp.meeting_id " +
+            "WHERE m.id <> :meetingId AND m.start_time < :end AND m.end_time > :start AND m.deleted_at IS NULL" +
+            ") c LIMIT 1", nativeQuery = true)
+    List<Object[]> findAttendeeConflicts(@Param("meetingId") Long meetingId,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end);
+
+    // [users, meetings, archived meetings, participations, archived participations, agendas, archived agendas]
+    @Query(value = "SELECT (SELECT COUNT(*) FROM users WHERE deleted_at IS NULL), " +
+            "(SELECT COUNT(*) FROM meetings WHERE deleted_at IS NULL), " +
+            "(SELECT COUNT(*) FROM meetings_archive), " +
+            "(SELECT COALESCE(SUM(participant_count), 0) FROM meetings WHERE deleted_at IS NULL), " +
+            "(SELECT COUNT(*) FROM meeting_participants_archive), " +
+            "(SELECT COUNT(*) FROM agendas a WHERE a.meeting_id IS NULL " +
+            "OR a.meeting_id IN (SELECT id FROM meetings WHERE deleted_at IS NULL)), " +
+            "(SELECT COUNT(*) FROM agendas_archive)", nativeQuery = true)
+    List<Object[]> countTotals();
+
+    @Query(value = "SELECT DATE(start_time), COUNT(*) FROM meetings " +
+            "WHERE start_time >= :from AND start_time < :to AND deleted_at IS NULL " +
+            "GROUP BY DATE(start_time)", nativeQuery = true)
+    List<Object[]> countMeetingsPerDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT u.user_id, COUNT(*) FROM (" +
+            "SELECT organizer_id AS user_id FROM meetings WHERE start_time >= :from AND start_time < :to " +
+            "AND deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT mp.user_id FROM meeting_participants mp JOIN meetings m ON m.id = mp.meeting_id " +
+            "WHERE m.start_time >= :from AND m.start_time < :to AND m.deleted_at IS NULL" +
+            ") u GROUP BY u.user_id", nativeQuery = true)
+    List<Object[]> countMeetingsPerUser(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT id, start_time FROM meetings WHERE start_time >= :from AND start_time < :to " +
+            "AND deleted_at IS NULL", nativeQuery = true)
+    List<Object[]> findStartTimesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT id, title, start_time, organizer_id FROM meetings WHERE id IN (:ids) AND deleted_at IS NULL",
+            nativeQuery = true)
+    List<Object[]> findReminderDetails(@Param("ids") Collection<Long> ids);
+
+    // A fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select m from Meeting m join fetch m.organizer o " +
+            "where (o.id = :userId or exists (select 1 from m.participants p where p.id = :userId)) " +
+            "and m.startTime >= :from and m.startTime < :to " +
+            "order by m.startTime")
+    Stream<Meeting> streamCalendarFeed(@Param("userId") Long userId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select m.id, m.title, m.description, m.startTime, m.endTime, m.organizer.id from Meeting m")
+    Stream<Object[]> streamSearchDocuments();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select m.id, p.id from Meeting m join m.participants p")
+    Stream<Object[]> streamParticipantPairs();
+
+    // Meetings in either role plus BUSY agenda entries, as [user_id, start, end] ordered by user and start
+    @Query(value = "SELECT m.organizer_id AS user_id, m.start_time, m.end_time FROM meetings m " +
+            "WHERE m.organizer_id IN (:userIds) AND m.start_time < :to AND m.end_time > :from AND m.deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT mp.user_id, m.start_time, m.end_time FROM meeting_participants mp " +
+            "JOIN meetings m ON m.id = mp.meeting_id " +
+            "WHERE mp.user_id IN (:userIds) AND m.start_time < :to AND m.end_time > :from AND m.deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT a.user_id, TIMESTAMP(a.date, a.start_time), TIMESTAMP(a.date, a.end_time) FROM agendas a " +
+            "WHERE a.user_id IN (:userIds) AND a.meeting_id IS NULL AND a.status = 'BUSY' " +
+            "AND a.date BETWEEN :fromDate AND :toDate " +
+            "ORDER BY 1, 2", nativeQuery = true)
+    List<Object[]> findBusyIntervals(@Param("userIds") Collection<Long> userIds,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("fromDate") LocalDate fromDate,
+                                     @Param("toDate") LocalDate toDate);
+
+    @Query(value = "SELECT id FROM meetings WHERE organizer_id = :organizerId ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findOrganizedMeetingIds(@Param("organizerId") Long organizerId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id, title, description, start_time, end_time, organizer_id FROM meetings " +
+            "WHERE id IN (:ids) AND deleted_at IS NULL", nativeQuery = true)
+    List<Object[]> findMeetingRows(@Param("ids") Collection<Long> ids);
+
+    // Meetings marked in the same statement as their organizer, who shares their deleted_at
+    @Query(value = "SELECT m.id, m.title, m.description, m.start_time, m.end_time, m.organizer_id FROM meetings m " +
+            "JOIN users u ON u.id = m.organizer_id WHERE m.id IN (:ids) AND m.deleted_at = u.deleted_at",
+            nativeQuery = true)
+    List<Object[]> findMeetingRowsDeletedWithOrganizer(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT meeting_id, user_id FROM meeting_participants WHERE meeting_id IN (:meetingIds)",
+            nativeQuery = true)
+    List<Object[]> findParticipantPairs(@Param("meetingIds") Collection<Long> meetingIds);
+
+    @Query(value = "SELECT DISTINCT mp.user_id FROM meeting_participants mp JOIN meetings m ON m.id = mp.meeting_id " +
+            "WHERE m.organizer_id = :organizerId AND m.deleted_at IS NULL " +
+            "AND m.start_time >= :from AND m.start_time < :to", nativeQuery = true)
+    List<Long> findParticipantIdsOfOrganizedMeetings(@Param("organizerId") Long organizerId,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+
+    // Serializes changes to the meeting's time and participants
+    @Query(value = "SELECT id FROM meetings WHERE id = :id AND deleted_at IS NULL FOR UPDATE", nativeQuery = true)
+    List<Long> lockMeetingRow(@Param("id") Long id);
+
+    @Query(value = "SELECT user_id FROM meeting_participants WHERE meeting_id = :meetingId AND user_id IN (:userIds)",
+            nativeQuery = true)
+    List<Long> findParticipantIdsAmong(@Param("meetingId") Long meetingId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO meeting_participants (meeting_id, user_id) " +
+            "SELECT :meetingId, id FROM users WHERE id IN (:userIds) AND deleted_at IS NULL", nativeQuery = true)
+    int insertParticipants(@Param("meetingId") Long meetingId, @Param("userIds") Collection<Long> userIds);
+
+    @Query(value = "SELECT mp.user_id FROM meeting_participants mp JOIN users u ON u.id = mp.user_id " +
+            "WHERE mp.meeting_id = :meetingId AND u.deleted_at IS NULL", nativeQuery = true)
+    List<Long> findParticipantIds(@Param("meetingId") Long meetingId);
+
+    @Query(value = "select p from Meeting m join m.participants p where m.id = :meetingId order by p.id",
+            countQuery = "select count(p) from Meeting m join m.participants p where m.id = :meetingId")
+    Page<User> findParticipants(@Param("meetingId") Long meetingId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE meetings SET participant_count = participant_count + :delta WHERE id = :meetingId",
+            nativeQuery = true)
+    int adjustParticipantCount(@Param("meetingId") Long meetingId, @Param("delta") int delta);
+
+    // Returns 0 when the count would exceed max
+    @Modifying
+    @Query(value = "UPDATE meetings SET participant_count = " +
+            "COALESCE(participant_count, (SELECT COUNT(*) FROM meeting_participants mp WHERE mp.meeting_id = :meetingId)) + :delta " +
+            "WHERE id = :meetingId AND COALESCE(participant_count, " +
+            "(SELECT COUNT(*) FROM meeting_participants mp WHERE mp.meeting_id = :meetingId)) + :delta <= :max",
+            nativeQuery = true)
+    int addToParticipantCount(@Param("meetingId") Long meetingId, @Param("delta") int delta, @Param("max") int max);
+
+    @Modifying
+    @Query(value = "UPDATE meetings SET participant_count = participant_count - 1 WHERE id IN (:meetingIds)",
+            nativeQuery = true)
+    int decrementParticipantCounts(@Param("meetingIds") Collection<Long> meetingIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM meeting_participants WHERE meeting_id = :meetingId AND user_id = :userId", nativeQuery = true)
+    int deleteParticipant(@Param("meetingId") Long meetingId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM meeting_participants WHERE meeting_id IN (:meetingIds)", nativeQuery = true)
+    int deleteParticipantsOfMeetings(@Param("meetingIds") Collection<Long> meetingIds);
+
+    @Query(value = "SELECT meeting_id FROM meeting_participants WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    List<Long> findParticipationMeetingIds(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM meeting_participants WHERE user_id = :userId AND meeting_id IN (:meetingIds)",
+            nativeQuery = true)
+    int deleteParticipationsOfUser(@Param("userId") Long userId, @Param("meetingIds") Collection<Long> meetingIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM meetings WHERE id IN (:ids)", nativeQuery = true)
+    int deleteMeetingsByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE meetings SET deleted_at = :deletedAt WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(value = "UPDATE meetings SET deleted_at = :deletedAt WHERE organizer_id = :organizerId AND deleted_at IS NULL",
+            nativeQuery = true)
+    int softDeleteOrganizedBy(@Param("organizerId") Long organizerId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Meetings of deleted users are left to the purge of their organizer
+    @Query(value = "SELECT m.id FROM meetings m JOIN users u ON u.id = m.organizer_id " +
+            "WHERE m.deleted_at IS NOT NULL AND u.deleted_at IS NULL ORDER BY m.id LIMIT :limit", nativeQuery = true)
+    List<Long> findPurgeableMeetingIds(@Param("limit") int limit);
 }
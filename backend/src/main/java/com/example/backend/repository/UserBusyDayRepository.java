@@ -0,0 +1,34 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.UserBusyDay;
+import com.example.backend.entity.UserBusyDayId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserBusyDayRepository extends JpaRepository<UserBusyDay, UserBusyDayId> {
+
+    @Query("select d from UserBusyDay d where d.id.userId in :userIds and d.id.day between :fromDay and :toDay")
+    List<UserBusyDay> findByUsersAndDays(@Param("userIds") Collection<Long> userIds,
+                                         @Param("fromDay") LocalDate fromDay,
+                                         @Param("toDay") LocalDate toDay);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_busy_days (user_id, day, any_busy, fully_busy) " +
+            "VALUES (:userId, :day, :anyBusy, :fullyBusy) " +
+            "ON DUPLICATE KEY UPDATE any_busy = VALUES(any_busy), fully_busy = VALUES(fully_busy)",
+            nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("day") LocalDate day,
+               @Param("anyBusy") byte[] anyBusy, @Param("fullyBusy") byte[] fullyBusy);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_busy_days WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+}
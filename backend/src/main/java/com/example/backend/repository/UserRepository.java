@@ -2,12 +2,40 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Cross-node guard for booking conflict checks; locks in id order
+    @Query(value = "SELECT id FROM users WHERE id IN (:ids) AND deleted_at IS NULL ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockUserRows(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT id FROM users WHERE id > :afterId AND deleted_at IS NULL ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = :id", nativeQuery = true)
+    int deleteUserRow(@Param("id") Long id);
+
+    // Frees the email for a new account before the purge
+    @Modifying
+    @Query(value = "UPDATE users SET deleted_at = :deletedAt, email = CONCAT('deleted-', id, '@deleted.invalid') " +
+            "WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query(value = "SELECT id FROM users WHERE deleted_at IS NOT NULL ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
 }
@@ -0,0 +1,267 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ReplicaRoutingContext;
+import com.example.backend.dto.AdminStatsDTO;
+import com.example.backend.entity.User;
+import com.example.backend.event.AgendaChangedEvent;
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import com.example.backend.event.UserChangedEvent;
+import com.example.backend.repository.MeetingRepository;
+import com.example.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Admin statistics from in-memory counters kept current by the change events and
+ * periodically reconciled against SQL aggregates.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminStatsService {
+
+    private final MeetingRepository meetingRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.admin-stats.past-days:30}")
+    private int pastDays;
+
+    @Value("${app.admin-stats.future-days:90}")
+    private int futureDays;
+
+    @Value("${app.admin-stats.top-users:10}")
+    private int topUsers;
+
+    private volatile Stats stats = new Stats(LocalDate.now(), LocalDate.now(), null);
+    private final Object changeLock = new Object();
+    private List<Consumer<Stats>> changesDuringReconcile;
+
+    private static final class Stats {
+        private final LocalDate windowStart;
+        private final LocalDate windowEnd;
+        private final LocalDateTime reconciledAt;
+        private final AtomicLong users = new AtomicLong();
+        private final AtomicLong meetings = new AtomicLong();
+        private final AtomicLong participations = new AtomicLong();
+        private final AtomicLong agendas = new AtomicLong();
+        private final Map<LocalDate, AtomicLong> meetingsPerDay = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> meetingsPerUser = new ConcurrentHashMap<>();
+
+        private Stats(LocalDate windowStart, LocalDate windowEnd, LocalDateTime reconciledAt) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.reconciledAt = reconciledAt;
+        }
+
+        private boolean inWindow(LocalDateTime start) {
+            LocalDate day = start.toLocalDate();
+            return !day.isBefore(windowStart) && day.isBefore(windowEnd);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AdminStatsDTO getStats() {
+        Stats current = stats;
+        Map<LocalDate, Long> perDay = new TreeMap<>();
+        current.meetingsPerDay.forEach((day, count) -> {
+            if (count.get() > 0) {
+                perDay.put(day, count.get());
+            }
+        });
+        Map<LocalDate, Long> perWeek = new TreeMap<>();
+        perDay.forEach((day, count) ->
+                perWeek.merge(day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), count, Long::sum));
+
+        long meetings = current.meetings.get();
+        return AdminStatsDTO.builder()
+                .totalUsers(current.users.get())
+                .totalMeetings(meetings)
+                .totalAgendas(current.agendas.get())
+                .averageParticipants(meetings > 0 ? (double) current.participations.get() / meetings : 0)
+                .windowStart(current.windowStart)
+                .windowEnd(current.windowEnd)
+                .meetingsPerDay(toDayCounts(perDay))
+                .meetingsPerWeek(toDayCounts(perWeek))
+                .busiestUsers(busiestUsers(current))
+                .reconciledAt(current.reconciledAt)
+                .build();
+    }
+
+    // Changes committed while the aggregates run are replayed onto the new counters
+    @Scheduled(fixedDelayString = "${app.admin-stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        // Only a change committed in the moment before the aggregates start can be counted twice
+        synchronized (changeLock) {
+            changesDuringReconcile = new ArrayList<>();
+        }
+        try {
+            Stats fresh = ReplicaRoutingContext.readFromPrimary(transactionManager, this::aggregate);
+            synchronized (changeLock) {
+                changesDuringReconcile.forEach(change -> change.accept(fresh));
+                stats = fresh;
+            }
+            log.debug("Reconciled admin statistics: {} users, {} meetings", fresh.users.get(), fresh.meetings.get());
+        } finally {
+            synchronized (changeLock) {
+                changesDuringReconcile = null;
+            }
+        }
+    }
+
+    private Stats aggregate() {
+        LocalDate today = LocalDate.now();
+        Stats fresh = new Stats(today.minusDays(pastDays), today.plusDays(futureDays), LocalDateTime.now());
+        LocalDateTime from = fresh.windowStart.atStartOfDay();
+        LocalDateTime to = fresh.windowEnd.atStartOfDay();
+
+        Object[] totals = meetingRepository.countTotals().get(0);
+        fresh.users.set(toLong(totals[0]));
+        fresh.meetings.set(toLong(totals[1]) + toLong(totals[2]));
+        fresh.participations.set(toLong(totals[3]) + toLong(totals[4]));
+        fresh.agendas.set(toLong(totals[5]) + toLong(totals[6]));
+        for (Object[] row : meetingRepository.countMeetingsPerDay(from, to)) {
+            fresh.meetingsPerDay.put(toLocalDate(row[0]), new AtomicLong(toLong(row[1])));
+        }
+        for (Object[] row : meetingRepository.countMeetingsPerUser(from, to)) {
+            fresh.meetingsPerUser.put(toLong(row[0]), new AtomicLong(toLong(row[1])));
+        }
+        return fresh;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        apply(current -> {
+            switch (event.getType()) {
+                case CREATED -> applyMeeting(current, event.getAfter(), 1);
+                case DELETED -> applyMeeting(current, event.getBefore(), -1);
+                case UPDATED -> {
+                    applyMeeting(current, event.getBefore(), -1);
+                    applyMeeting(current, event.getAfter(), 1);
+                }
+                case PARTICIPANT_ADDED -> applyParticipants(current, event.getAfter(), event.getAffectedUserIds(), 1);
+                case PARTICIPANT_REMOVED -> applyParticipants(current, event.getBefore(), event.getAffectedUserIds(), -1);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgendaChanged(AgendaChangedEvent event) {
+        if (event.getType() == AgendaChangedEvent.Type.CREATED) {
+            apply(current -> current.agendas.incrementAndGet());
+        } else if (event.getType() == AgendaChangedEvent.Type.DELETED) {
+            apply(current -> current.agendas.decrementAndGet());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() == UserChangedEvent.Type.CREATED) {
+            apply(current -> current.users.incrementAndGet());
+        } else if (event.getType() == UserChangedEvent.Type.DELETED) {
+            apply(current -> {
+                current.users.decrementAndGet();
+                current.meetingsPerUser.remove(event.getUserId());
+            });
+        }
+    }
+
+    private void apply(Consumer<Stats> change) {
+        synchronized (changeLock) {
+            change.accept(stats);
+            if (changesDuringReconcile != null) {
+                changesDuringReconcile.add(change);
+            }
+        }
+    }
+
+    // Meeting agendas exist for the organizer and every participant, and go with the meeting
+    private void applyMeeting(Stats current, MeetingSnapshot meeting, int sign) {
+        Set<Long> participantIds = meeting.getParticipantIds() != null ? meeting.getParticipantIds() : Set.of();
+        Set<Long> attendeeIds = new HashSet<>(participantIds);
+        attendeeIds.add(meeting.getOrganizerId());
+        current.meetings.addAndGet(sign);
+        current.participations.addAndGet((long) sign * participantIds.size());
+        current.agendas.addAndGet((long) sign * attendeeIds.size());
+        if (current.inWindow(meeting.getStartTime())) {
+            add(current.meetingsPerDay, meeting.getStartTime().toLocalDate(), sign);
+            attendeeIds.forEach(userId -> add(current.meetingsPerUser, userId, sign));
+        }
+    }
+
+    private void applyParticipants(Stats current, MeetingSnapshot meeting, Set<Long> userIds, int sign) {
+        current.participations.addAndGet((long) sign * userIds.size());
+        long agendaOwners = userIds.stream().filter(userId -> !userId.equals(meeting.getOrganizerId())).count();
+        current.agendas.addAndGet(sign * agendaOwners);
+        if (current.inWindow(meeting.getStartTime())) {
+            userIds.forEach(userId -> add(current.meetingsPerUser, userId, sign));
+        }
+    }
+
+    private List<AdminStatsDTO.UserCount> busiestUsers(Stats current) {
+        PriorityQueue<Map.Entry<Long, Long>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        current.meetingsPerUser.forEach((userId, count) -> {
+            long meetings = count.get();
+            if (meetings > 0) {
+                top.add(Map.entry(userId, meetings));
+                if (top.size() > topUsers) {
+                    top.poll();
+                }
+            }
+        });
+        List<Map.Entry<Long, Long>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<Long, String> names = userRepository.findAllById(ranked.stream().map(Map.Entry::getKey)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, User::getName));
+        return ranked.stream()
+                .map(entry -> AdminStatsDTO.UserCount.builder()
+                        .userId(entry.getKey())
+                        .name(names.get(entry.getKey()))
+                        .meetings(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static List<AdminStatsDTO.DayCount> toDayCounts(Map<LocalDate, Long> counts) {
+        return counts.entrySet().stream()
+                .map(entry -> new AdminStatsDTO.DayCount(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private static <K> void add(Map<K, AtomicLong> counters, K key, long delta) {
+        counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -4,24 +4,41 @@ import com.example.backend.entity.Agenda;
 import com.example.backend.entity.AgendaStatus;
 import com.example.backend.entity.Meeting;
 import com.example.backend.entity.User;
+import com.example.backend.event.AgendaChangedEvent;
 import com.example.backend.exception.InvalidRequestException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.repository.AgendaRepository;
 import com.example.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class AgendaService {
 
+    // Bounds of the MySQL DATE range, used when only one side of a window is given
+    private static final LocalDate EARLIEST = LocalDate.of(1000, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
     private final AgendaRepository agendaRepository;
     private final UserRepository userRepository;
+    private final MeetingArchiveService archiveService;
+    private final BusyBitmapService busyBitmapService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.busy-bitmap.max-users:1000}")
+    private int maxAvailabilityUsers;
 
     @Transactional
     public Agenda createAgenda(Agenda agenda) {
@@ -34,34 +51,59 @@ public class AgendaService {
         }
         
         agenda.setUser(user);
-        return agendaRepository.save(agenda);
+        Agenda savedAgenda = agendaRepository.save(agenda);
+        eventPublisher.publishEvent(new AgendaChangedEvent(AgendaChangedEvent.Type.CREATED, savedAgenda.getId(), user.getId(),
+                Set.of(savedAgenda.getDate())));
+        return savedAgenda;
     }
     
     @Transactional
-    public void createAgendaFromMeeting(User user, LocalDateTime meetingStart, LocalDateTime meetingEnd, Meeting meeting) {
-        Agenda agenda = Agenda.builder()
-                .user(user)
-                .meeting(meeting)
-                .date(meetingStart.toLocalDate())
-                .startTime(meetingStart.toLocalTime())
-                .endTime(meetingEnd.toLocalTime())
-                .status(AgendaStatus.BUSY)
-                .build();
-        agendaRepository.save(agenda);
+    public int createAgendasFromMeeting(Collection<Long> userIds, Meeting meeting) {
+        return agendaRepository.insertMeetingAgendas(meeting.getId(), userIds, meeting.getStartTime().toLocalDate(),
+                meeting.getStartTime().toLocalTime(), meeting.getEndTime().toLocalTime());
+    }
+
+    @Transactional
+    public int rescheduleAgendasFromMeeting(Meeting meeting) {
+        return agendaRepository.rescheduleMeetingAgendas(meeting.getId(), meeting.getStartTime().toLocalDate(),
+                meeting.getStartTime().toLocalTime(), meeting.getEndTime().toLocalTime());
     }
 
+    @Transactional
+    public void deleteAgendaFromMeeting(Long userId, Long meetingId) {
+        agendaRepository.deleteByMeetingIdAndUserId(meetingId, userId);
+    }
+
+    @Transactional(readOnly = true)
     public Agenda getAgendaById(Long id) {
         return agendaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Agenda with id " + id + " not found"));
     }
 
-    public List<Agenda> getAgendasByUser(Long userId) {
+    @Transactional(readOnly = true)
+    public List<Agenda> getAgendasByUser(Long userId, LocalDate from, LocalDate to) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User with id " + userId + " not found");
         }
-        return agendaRepository.findByUserId(userId);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("Window start must be before window end");
+        }
+        LocalDate windowStart = from != null ? from : EARLIEST;
+        LocalDate windowEnd = to != null ? to : LATEST;
+
+        List<Agenda> agendas = new ArrayList<>();
+        if (archiveService.reachesIntoArchive(from != null ? from.atStartOfDay() : null)) {
+            agendas.addAll(archiveService.getArchivedAgendasByUser(userId, windowStart, windowEnd));
+        }
+        if (from == null && to == null) {
+            agendas.addAll(agendaRepository.findByUserId(userId));
+        } else {
+            agendas.addAll(agendaRepository.findByUserIdAndDateBetween(userId, windowStart, windowEnd));
+        }
+        return agendas;
     }
 
+    @Transactional(readOnly = true)
     public List<Agenda> getAgendasByUserAndDate(Long userId, LocalDate date) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User with id " + userId + " not found");
@@ -77,31 +119,50 @@ public class AgendaService {
             throw new InvalidRequestException("Start time must be before end time");
         }
         
+        LocalDate previousDate = existingAgenda.getDate();
         existingAgenda.setDate(agenda.getDate());
         existingAgenda.setStartTime(agenda.getStartTime());
         existingAgenda.setEndTime(agenda.getEndTime());
         existingAgenda.setStatus(agenda.getStatus());
         
-        return agendaRepository.save(existingAgenda);
+        Agenda savedAgenda = agendaRepository.save(existingAgenda);
+        eventPublisher.publishEvent(new AgendaChangedEvent(AgendaChangedEvent.Type.UPDATED, id, savedAgenda.getUser().getId(),
+                new HashSet<>(List.of(previousDate, savedAgenda.getDate()))));
+        return savedAgenda;
     }
 
     @Transactional
     public void deleteAgenda(Long id) {
         Agenda agenda = getAgendaById(id);
         agendaRepository.delete(agenda);
+        eventPublisher.publishEvent(new AgendaChangedEvent(AgendaChangedEvent.Type.DELETED, id, agenda.getUser().getId(), Set.of(agenda.getDate())));
     }
 
+    @Transactional(readOnly = true)
     public boolean isUserAvailable(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User with id " + userId + " not found");
         }
-        
-        List<Agenda> agendas = agendaRepository.findByUserIdAndDate(userId, startTime.toLocalDate());
-        
-        return agendas.stream().noneMatch(agenda -> 
-            agenda.getStatus().toString().equals("BUSY") &&
-            !(endTime.toLocalTime().isBefore(agenda.getStartTime()) || 
-              startTime.toLocalTime().isAfter(agenda.getEndTime()))
-        );
+        validateAvailabilityWindow(startTime, endTime);
+        return busyBitmapService.isFree(userId, startTime, endTime);
+    }
+
+    // Unknown ids count as free, since nothing is booked for them
+    @Transactional(readOnly = true)
+    public List<Long> findAvailableUsers(Collection<Long> userIds, LocalDateTime startTime, LocalDateTime endTime) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new InvalidRequestException("At least one user id is required");
+        }
+        if (userIds.size() > maxAvailabilityUsers) {
+            throw new InvalidRequestException("At most " + maxAvailabilityUsers + " users can be checked at once");
+        }
+        validateAvailabilityWindow(startTime, endTime);
+        return busyBitmapService.findFreeUsers(userIds, startTime, endTime);
+    }
+
+    private static void validateAvailabilityWindow(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null || !startTime.isBefore(endTime)) {
+            throw new InvalidRequestException("Start time must be before end time");
+        }
     }
 }
@@ -4,11 +4,13 @@ import com.example.backend.dto.AuthResponseDTO;
 import com.example.backend.dto.LoginRequestDTO;
 import com.example.backend.dto.SignupRequestDTO;
 import com.example.backend.entity.User;
+import com.example.backend.event.UserChangedEvent;
 import com.example.backend.exception.DuplicateResourceException;
 import com.example.backend.exception.InvalidRequestException;
 import com.example.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AuthResponseDTO signup(SignupRequestDTO request) {
@@ -36,6 +39,7 @@ public class AuthService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.CREATED, savedUser.getId()));
         log.info("User created successfully with id: {}", savedUser.getId());
 
         return AuthResponseDTO.builder()
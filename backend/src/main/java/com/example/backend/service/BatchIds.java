@@ -0,0 +1,38 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+final class BatchIds {
+
+    private BatchIds() {
+    }
+
+    static List<Long> distinct(Collection<Long> ids, int maxIds) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("At least one id is required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestException("Ids must not be empty");
+        }
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > maxIds) {
+            throw new InvalidRequestException("At most " + maxIds + " ids can be requested at once");
+        }
+        return distinctIds;
+    }
+
+    static List<List<Long>> chunks(Collection<Long> ids, int chunkSize) {
+        List<Long> all = List.copyOf(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            chunks.add(all.subList(from, Math.min(from + chunkSize, all.size())));
+        }
+        return chunks;
+    }
+}
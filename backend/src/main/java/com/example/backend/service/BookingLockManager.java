@@ -0,0 +1,69 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ConcurrentBookingException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-user booking locks inside this JVM. Users hash onto lock stripes that are always
+ * acquired in ascending order, so overlapping bookings cannot deadlock.
+ */
+@Component
+public class BookingLockManager {
+
+    @Value("${app.booking.lock-stripes:1024}")
+    private int stripeCount;
+
+    @Value("${app.booking.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    private ReentrantLock[] stripes;
+
+    @PostConstruct
+    void initStripes() {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withUserLocks(Collection<Long> userIds, Supplier<T> action) {
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Long userId : userIds) {
+            stripeIndexes.add(stripeFor(userId));
+        }
+
+        int acquired = 0;
+        Integer[] ordered = stripeIndexes.toArray(new Integer[0]);
+        try {
+            for (Integer index : ordered) {
+                if (!stripes[index].tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new ConcurrentBookingException(
+                            "Another booking for the same users is in progress, please retry");
+                }
+                acquired++;
+            }
+            return action.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentBookingException("Booking was interrupted while waiting for a lock");
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[ordered[i]].unlock();
+            }
+        }
+    }
+
+    private int stripeFor(Long userId) {
+        // Spread sequential ids across stripes
+        long mixed = userId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(mixed ^ (mixed >>> 32), (long) stripeCount);
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.UserBusyDay;
+import com.example.backend.entity.UserBusyDayId;
+import com.example.backend.event.AgendaChangedEvent;
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import com.example.backend.repository.MeetingRepository;
+import com.example.backend.repository.UserBusyDayRepository;
+import com.example.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Persisted busy bitmaps per user and day: slots touched by any busy interval and slots
+ * fully covered. Most availability checks are answered from them; partial edge slots, days
+ * without a row and rows awaiting a background recompute fall back to an exact query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusyBitmapService {
+
+    public static final int SLOT_MINUTES = 15;
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final UserBusyDayRepository busyDayRepository;
+    private final UserRepository userRepository;
+    private final MeetingRepository meetingRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.busy-bitmap.horizon-days:90}")
+    private int horizonDays;
+
+    @Value("${app.busy-bitmap.batch-size:200}")
+    private int batchSize;
+
+    // Days waiting for recomputation per user, and those the worker is recomputing now
+    private final Map<Long, Set<LocalDate>> pending = new HashMap<>();
+    private final Map<Long, Set<LocalDate>> recomputing = new HashMap<>();
+    private boolean draining;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "busy-bitmap");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record DayBits(BitSet any, BitSet full) {
+
+        static DayBits empty() {
+            return new DayBits(new BitSet(SLOTS_PER_DAY), new BitSet(SLOTS_PER_DAY));
+        }
+
+        static DayBits of(UserBusyDay row) {
+            return new DayBits(BitSet.valueOf(row.getAnyBusy()), BitSet.valueOf(row.getFullyBusy()));
+        }
+    }
+
+    private enum Verdict {
+        FREE,
+        BUSY,
+        UNSURE
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isFree(Long userId, LocalDateTime start, LocalDateTime end) {
+        return findFreeUsers(List.of(userId), start, end).contains(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findFreeUsers(Collection<Long> userIds, LocalDateTime start, LocalDateTime end) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        List<LocalDate> days = daysOf(start, end);
+        Map<LocalDate, DayBits> window = new HashMap<>();
+        for (LocalDate day : days) {
+            DayBits bits = DayBits.empty();
+            mark(bits, day, start, end);
+            window.put(day, bits);
+        }
+
+        Map<Long, Map<LocalDate, DayBits>> stored = new HashMap<>();
+        for (UserBusyDay row : busyDayRepository.findByUsersAndDays(ids, days.get(0), days.get(days.size() - 1))) {
+            stored.computeIfAbsent(row.getId().getUserId(), id -> new HashMap<>())
+                    .put(row.getId().getDay(), DayBits.of(row));
+        }
+
+        Map<Long, Set<LocalDate>> stale = staleDays(ids);
+        Set<Long> free = new HashSet<>();
+        Set<Long> unsure = new HashSet<>();
+        for (Long userId : ids) {
+            Map<LocalDate, DayBits> rows = new HashMap<>(stored.getOrDefault(userId, Map.of()));
+            Set<LocalDate> staleDays = stale.getOrDefault(userId, Set.of());
+            rows.keySet().removeAll(staleDays);
+            backfillMissing(userId, days, rows.keySet(), staleDays);
+            Verdict verdict = classify(rows, window, days);
+            if (verdict == Verdict.FREE) {
+                free.add(userId);
+            } else if (verdict == Verdict.UNSURE) {
+                unsure.add(userId);
+            }
+        }
+        if (!unsure.isEmpty()) {
+            BusyInterval.load(meetingRepository, unsure, start, end).forEach((userId, intervals) -> {
+                if (intervals.stream().anyMatch(interval -> interval.overlaps(start, end))) {
+                    unsure.remove(userId);
+                }
+            });
+            free.addAll(unsure);
+        }
+        return ids.stream().filter(free::contains).collect(Collectors.toList());
+    }
+
+    public void recompute(Collection<Long> userIds, Collection<LocalDate> days) {
+        if (userIds.isEmpty() || days.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            List<Long> existing = userRepository.lockUserRows(new TreeSet<>(userIds));
+            if (existing.isEmpty()) {
+                return;
+            }
+            for (List<LocalDate> run : consecutiveRuns(days)) {
+                LocalDate first = run.get(0);
+                LocalDate last = run.get(run.size() - 1);
+                Map<Long, List<BusyInterval>> intervals = BusyInterval.load(meetingRepository, existing,
+                        first.atStartOfDay(), last.plusDays(1).atStartOfDay());
+                for (Long userId : existing) {
+                    for (LocalDate day : run) {
+                        DayBits bits = DayBits.empty();
+                        for (BusyInterval interval : intervals.getOrDefault(userId, List.of())) {
+                            mark(bits, day, interval.start(), interval.end());
+                        }
+                        busyDayRepository.upsert(userId, day, bits.any().toByteArray(), bits.full().toByteArray());
+                    }
+                }
+            }
+        });
+    }
+
+    // Computes the horizon days these users have no row for yet, so their next checks skip the exact query
+    public void backfillHorizon(Collection<Long> userIds) {
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = today.plusDays(horizonDays - 1);
+        for (List<Long> batch : BatchIds.chunks(userIds, batchSize)) {
+            Map<Long, Set<LocalDate>> stored = new HashMap<>();
+            for (UserBusyDay row : busyDayRepository.findByUsersAndDays(batch, today, lastDay)) {
+                stored.computeIfAbsent(row.getId().getUserId(), id -> new HashSet<>()).add(row.getId().getDay());
+            }
+            Set<LocalDate> missing = new TreeSet<>();
+            for (Long userId : batch) {
+                Set<LocalDate> days = stored.getOrDefault(userId, Set.of());
+                for (LocalDate day = today; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                    if (!days.contains(day)) {
+                        missing.add(day);
+                    }
+                }
+            }
+            recompute(batch, missing);
+        }
+    }
+
+    // Earlier days of the horizon are kept current by the change events and backfilled on a read miss
+    @Scheduled(cron = "${app.busy-bitmap.cron:0 0 4 * * *}")
+    public void precomputeHorizon() {
+        LocalDate day = LocalDate.now().plusDays(horizonDays - 1);
+        List<LocalDate> days = List.of(day);
+        long users = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> batch = userRepository.findIdsAfter(afterId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            recompute(batch, days);
+            users += batch.size();
+            afterId = batch.get(batch.size() - 1);
+        }
+        log.info("Precomputed busy bitmaps of {} users for {}", users, day);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        Set<LocalDate> days = new TreeSet<>();
+        addDays(days, event.getBefore());
+        addDays(days, event.getAfter());
+        enqueue(event.getAffectedUserIds(), days);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgendaChanged(AgendaChangedEvent event) {
+        enqueue(Set.of(event.getUserId()), event.getDays());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void enqueue(Collection<Long> userIds, Collection<LocalDate> days) {
+        if (userIds.isEmpty() || days.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            for (Long userId : userIds) {
+                pending.computeIfAbsent(userId, id -> new HashSet<>()).addAll(days);
+            }
+            if (!draining) {
+                draining = true;
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Map<Set<LocalDate>, List<Long>> usersByDays = new HashMap<>();
+            synchronized (pending) {
+                recomputing.clear();
+                if (pending.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                pending.forEach((userId, days) -> usersByDays.computeIfAbsent(days, d -> new ArrayList<>()).add(userId));
+                recomputing.putAll(pending);
+                pending.clear();
+            }
+            usersByDays.forEach((days, userIds) -> {
+                for (List<Long> batch : BatchIds.chunks(userIds, batchSize)) {
+                    recomputeOrDrop(batch, days);
+                }
+            });
+        }
+    }
+
+    // Days of the horizon without a row are computed in the background; until then the exact query answers
+    private void backfillMissing(Long userId, List<LocalDate> days, Set<LocalDate> stored, Set<LocalDate> stale) {
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = today.plusDays(horizonDays - 1);
+        Set<LocalDate> missing = new TreeSet<>();
+        for (LocalDate day : days) {
+            if (!day.isBefore(today) && !day.isAfter(lastDay) && !stored.contains(day) && !stale.contains(day)) {
+                missing.add(day);
+            }
+        }
+        enqueue(Set.of(userId), missing);
+    }
+
+    private Map<Long, Set<LocalDate>> staleDays(Collection<Long> userIds) {
+        Map<Long, Set<LocalDate>> stale = new HashMap<>();
+        synchronized (pending) {
+            for (Long userId : userIds) {
+                for (Map<Long, Set<LocalDate>> queue : List.of(pending, recomputing)) {
+                    Set<LocalDate> days = queue.get(userId);
+                    if (days != null) {
+                        stale.computeIfAbsent(userId, id -> new HashSet<>()).addAll(days);
+                    }
+                }
+            }
+        }
+        return stale;
+    }
+
+    private void recomputeOrDrop(Collection<Long> userIds, Collection<LocalDate> days) {
+        try {
+            recompute(userIds, days);
+        } catch (RuntimeException e) {
+            // A stale row would give wrong answers; without a row the exact query is used
+            log.error("Recomputing busy bitmaps of users {} failed, dropping their rows", userIds, e);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    busyDayRepository.deleteAllByIdInBatch(idsOf(userIds, days)));
+        }
+    }
+
+    private static List<UserBusyDayId> idsOf(Collection<Long> userIds, Collection<LocalDate> days) {
+        List<UserBusyDayId> ids = new ArrayList<>();
+        for (Long userId : userIds) {
+            for (LocalDate day : days) {
+                ids.add(new UserBusyDayId(userId, day));
+            }
+        }
+        return ids;
+    }
+
+    private static Verdict classify(Map<LocalDate, DayBits> stored, Map<LocalDate, DayBits> window,
+                                    List<LocalDate> days) {
+        Verdict verdict = Verdict.FREE;
+        for (LocalDate day : days) {
+            DayBits busy = stored.get(day);
+            if (busy == null) {
+                verdict = Verdict.UNSURE;
+                continue;
+            }
+            DayBits requested = window.get(day);
+            if (busy.full().intersects(requested.any()) || busy.any().intersects(requested.full())) {
+                return Verdict.BUSY;
+            }
+            if (busy.any().intersects(requested.any())) {
+                verdict = Verdict.UNSURE;
+            }
+        }
+        return verdict;
+    }
+
+    private static void mark(DayBits bits, LocalDate day, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        LocalDateTime from = start.isAfter(dayStart) ? start : dayStart;
+        LocalDateTime to = end.isBefore(dayEnd) ? end : dayEnd;
+        if (!from.isBefore(to)) {
+            return;
+        }
+        long fromSecond = Duration.between(dayStart, from).getSeconds();
+        long toSecond = Duration.between(dayStart, to).getSeconds();
+        if (fromSecond >= toSecond) {
+            return;
+        }
+        bits.any().set((int) (fromSecond / SLOT_SECONDS), (int) ((toSecond - 1) / SLOT_SECONDS) + 1);
+        int firstFull = (int) ((fromSecond + SLOT_SECONDS - 1) / SLOT_SECONDS);
+        int lastFull = (int) (toSecond / SLOT_SECONDS);
+        if (firstFull < lastFull) {
+            bits.full().set(firstFull, lastFull);
+        }
+    }
+
+    private static List<LocalDate> daysOf(LocalDateTime start, LocalDateTime end) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate last = end.minusNanos(1).toLocalDate();
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    private static void addDays(Set<LocalDate> days, MeetingSnapshot meeting) {
+        if (meeting != null && meeting.getStartTime().isBefore(meeting.getEndTime())) {
+            days.addAll(daysOf(meeting.getStartTime(), meeting.getEndTime()));
+        }
+    }
+
+    private static List<List<LocalDate>> consecutiveRuns(Collection<LocalDate> days) {
+        List<List<LocalDate>> runs = new ArrayList<>();
+        List<LocalDate> run = new ArrayList<>();
+        for (LocalDate day : new TreeSet<>(days)) {
+            if (!run.isEmpty() && !run.get(run.size() - 1).plusDays(1).equals(day)) {
+                runs.add(run);
+                run = new ArrayList<>();
+            }
+            run.add(day);
+        }
+        if (!run.isEmpty()) {
+            runs.add(run);
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.MeetingRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Half-open busy span [start, end).
+ */
+public record BusyInterval(LocalDateTime start, LocalDateTime end) {
+
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return start.isBefore(to) && end.isAfter(from);
+    }
+
+    // Grouped by user and sorted by start
+    static Map<Long, List<BusyInterval>> load(MeetingRepository meetingRepository, Collection<Long> userIds,
+                                              LocalDateTime from, LocalDateTime to) {
+        LocalDate lastDay = to.minusNanos(1).toLocalDate();
+        Map<Long, List<BusyInterval>> intervals = new HashMap<>();
+        for (Object[] row : meetingRepository.findBusyIntervals(userIds, from, to, from.toLocalDate(), lastDay)) {
+            BusyInterval interval = new BusyInterval(toLocalDateTime(row[1]), toLocalDateTime(row[2]));
+            if (interval.start().isBefore(interval.end()) && interval.overlaps(from, to)) {
+                intervals.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>()).add(interval);
+            }
+        }
+        return intervals;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ReplicaRoutingContext;
+import com.example.backend.entity.Meeting;
+import com.example.backend.entity.User;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.MeetingRepository;
+import com.example.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Per-user iCalendar feeds, streamed from the database and cached under the user's
+ * schedule version.
+ */
+@Service
+@RequiredArgsConstructor
+public class CalendarFeedService {
+
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final MeetingRepository meetingRepository;
+    private final UserRepository userRepository;
+    private final ScheduleVersionTracker versionTracker;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.calendar.feed.past-days:30}")
+    private int pastDays;
+
+    @Value("${app.calendar.feed.future-days:180}")
+    private int futureDays;
+
+    @Value("${app.calendar.feed.cache-size:1000}")
+    private int cacheSize;
+
+    private Map<Long, CalendarFeed> cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CalendarFeed> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public record CalendarFeed(String etag, byte[] body) {
+    }
+
+    // Computed without rendering, so conditional requests are answered before any meeting is read
+    public String currentETag(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User with id " + userId + " not found");
+        }
+        return "\"u" + userId + "-" + versionTracker.getEpoch() + "-"
+                + versionTracker.currentVersion(userId) + "-" + windowStart().toLocalDate() + "\"";
+    }
+
+    public CalendarFeed getFeed(Long userId) {
+        String etag = currentETag(userId);
+        CalendarFeed cached = cache.get(userId);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached;
+        }
+
+        byte[] body = ReplicaRoutingContext.read(transactionManager, versionTracker.changedRecently(userId),
+                () -> render(userRepository.findById(userId)
+                        .orElseThrow(() -> new ResourceNotFoundException("User with id " + userId + " not found"))));
+        CalendarFeed feed = new CalendarFeed(etag, body);
+        cache.put(userId, feed);
+        return feed;
+    }
+
+    private byte[] render(User user) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC_FORMAT);
+
+        writeLine(out, "BEGIN:VCALENDAR");
+        writeLine(out, "VERSION:2.0");
+        writeLine(out, "PRODID:-//Meetings Planner//Calendar Feed//EN");
+        writeLine(out, "CALSCALE:GREGORIAN");
+        writeLine(out, "METHOD:PUBLISH");
+        writeLine(out, "X-WR-CALNAME:" + escape(user.getName()) + " meetings");
+
+        LocalDateTime from = windowStart();
+        LocalDateTime to = windowEnd();
+        try (Stream<Meeting> meetings = meetingRepository.streamCalendarFeed(user.getId(), from, to)) {
+            meetings.forEach(meeting -> {
+                writeEvent(out, meeting, stamp);
+                entityManager.detach(meeting);
+            });
+        }
+
+        writeLine(out, "END:VCALENDAR");
+        return out.toByteArray();
+    }
+
+    private void writeEvent(ByteArrayOutputStream out, Meeting meeting, String stamp) {
+        writeLine(out, "BEGIN:VEVENT");
+        writeLine(out, "UID:meeting-" + meeting.getId() + "@meetings-planner");
+        writeLine(out, "DTSTAMP:" + stamp);
+        writeLine(out, "DTSTART:" + meeting.getStartTime().format(LOCAL_FORMAT));
+        writeLine(out, "DTEND:" + meeting.getEndTime().format(LOCAL_FORMAT));
+        writeLine(out, "SUMMARY:" + escape(meeting.getTitle()));
+        if (meeting.getDescription() != null && !meeting.getDescription().isEmpty()) {
+            writeLine(out, "DESCRIPTION:" + escape(meeting.getDescription()));
+        }
+        User organizer = meeting.getOrganizer();
+        writeLine(out, "ORGANIZER;CN=" + escape(organizer.getName()) + ":mailto:" + organizer.getEmail());
+        writeLine(out, "END:VEVENT");
+    }
+
+    // Meetings starting in [windowStart, windowEnd) are listed in the feeds
+    public LocalDateTime windowStart() {
+        return LocalDate.now().minusDays(pastDays).atStartOfDay();
+    }
+
+    public LocalDateTime windowEnd() {
+        return LocalDate.now().plusDays(futureDays + 1L).atStartOfDay();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    // Folds at 75 octets as required by RFC 5545
+    private static void writeLine(ByteArrayOutputStream out, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int limit = MAX_LINE_OCTETS;
+        while (bytes.length - start > limit) {
+            int end = start + limit;
+            // Never split a multi-byte UTF-8 sequence
+            while ((bytes[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            out.write(bytes, start, end - start);
+            out.write('\r');
+            out.write('\n');
+            out.write(' ');
+            start = end;
+            limit = MAX_LINE_OCTETS - 1;
+        }
+        out.write(bytes, start, bytes.length - start);
+        out.write('\r');
+        out.write('\n');
+    }
+}
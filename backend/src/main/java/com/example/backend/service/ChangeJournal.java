@@ -0,0 +1,380 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AgendaChangedEvent;
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import com.example.backend.event.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of meeting, agenda and user changes, written in batches by one
+ * thread to preallocated memory-mapped segments. Records are {@code [length][crc32][body]};
+ * the length is written last, so a torn record fails its checksum.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_BYTES = 8;
+    private static final long NONE = -1L;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    // Entries may be queued slightly out of timestamp order; segment skipping allows for it
+    private static final long TIMESTAMP_SLACK_MS = 60_000;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.journal.dir:journal}")
+    private String directory;
+
+    @Value("${app.journal.segment-bytes:67108864}")
+    private int segmentBytes;
+
+    @Value("${app.journal.queue-capacity:65536}")
+    private int queueCapacity;
+
+    @Value("${app.journal.max-batch:4096}")
+    private int maxBatch;
+
+    @Value("${app.journal.force:true}")
+    private boolean force;
+
+    private BlockingQueue<JournalEntry> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private Path dir;
+    private MappedByteBuffer segment;
+    private long nextSequence = 1;
+    private Counter appended;
+    private Counter dropped;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        recover();
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        appended = meterRegistry.counter("journal.appended");
+        dropped = meterRegistry.counter("journal.dropped");
+        running = true;
+        writer = new Thread(this::writeLoop, "change-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        MeetingSnapshot meeting = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        JournalEntry.Type type = switch (event.getType()) {
+            case CREATED -> JournalEntry.Type.MEETING_CREATED;
+            case UPDATED -> JournalEntry.Type.MEETING_UPDATED;
+            case DELETED -> JournalEntry.Type.MEETING_DELETED;
+            case PARTICIPANT_ADDED -> JournalEntry.Type.PARTICIPANT_ADDED;
+            case PARTICIPANT_REMOVED -> JournalEntry.Type.PARTICIPANT_REMOVED;
+        };
+        append(new JournalEntry(0, System.currentTimeMillis(), type, event.getMeetingId(), null,
+                meeting != null ? meeting.getOrganizerId() : null,
+                meeting != null ? meeting.getStartTime() : null, meeting != null ? meeting.getEndTime() : null,
+                List.copyOf(event.getAffectedUserIds()), List.of()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgendaChanged(AgendaChangedEvent event) {
+        JournalEntry.Type type = switch (event.getType()) {
+            case CREATED -> JournalEntry.Type.AGENDA_CREATED;
+            case UPDATED -> JournalEntry.Type.AGENDA_UPDATED;
+            case DELETED -> JournalEntry.Type.AGENDA_DELETED;
+        };
+        append(new JournalEntry(0, System.currentTimeMillis(), type, event.getAgendaId(), null,
+                event.getUserId(), null, null, List.of(), event.getDays().stream().sorted().collect(Collectors.toList())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        JournalEntry.Type type = switch (event.getType()) {
+            case CREATED -> JournalEntry.Type.USER_CREATED;
+            case UPDATED -> JournalEntry.Type.USER_UPDATED;
+            case DELETED -> JournalEntry.Type.USER_DELETED;
+        };
+        append(new JournalEntry(0, System.currentTimeMillis(), type, event.getUserId(), null,
+                null, null, null, List.of(), List.of()));
+    }
+
+    // Stops once the consumer returns false
+    public void replay(LocalDateTime from, LocalDateTime to, Predicate<JournalEntry> consumer) {
+        if (!enabled) {
+            return;
+        }
+        long fromMillis = from != null ? toEpochMillis(from) : Long.MIN_VALUE;
+        long toMillis = to != null ? toEpochMillis(to) : Long.MAX_VALUE;
+        List<Path> segments = listSegments();
+        boolean[] stopped = {false};
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && from != null
+                    && firstTimestamp(segments.get(i + 1)) < fromMillis - TIMESTAMP_SLACK_MS) {
+                continue;
+            }
+            ByteBuffer buffer = mapForRead(segments.get(i));
+            long lastTimestamp = readRecords(buffer, entry -> {
+                if (entry.timestampMillis() >= fromMillis && entry.timestampMillis() < toMillis
+                        && !consumer.test(entry)) {
+                    stopped[0] = true;
+                }
+                return !stopped[0];
+            });
+            if (stopped[0] || (to != null && lastTimestamp > toMillis + TIMESTAMP_SLACK_MS)) {
+                return;
+            }
+        }
+    }
+
+    private void append(JournalEntry entry) {
+        if (!enabled) {
+            return;
+        }
+        if (!queue.offer(entry)) {
+            dropped.increment();
+            log.warn("Change journal queue is full; dropped {} of entity {}", entry.type(), entry.entityId());
+        }
+    }
+
+    private void writeLoop() {
+        List<JournalEntry> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                JournalEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                for (JournalEntry entry : batch) {
+                    write(entry.withSequence(nextSequence++));
+                }
+                // Group commit: one flush for the whole batch
+                if (force) {
+                    segment.force();
+                }
+                appended.increment(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to append {} entries to the change journal", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    private void write(JournalEntry entry) {
+        byte[] body = encode(entry);
+        int recordBytes = HEADER_BYTES + body.length;
+        if (recordBytes + Integer.BYTES > segmentBytes) {
+            log.error("Journal entry {} of {} bytes exceeds the segment size", entry.sequence(), recordBytes);
+            return;
+        }
+        // Keep room for the zero length that terminates the segment
+        if (segment.remaining() < recordBytes + Integer.BYTES) {
+            segment.force();
+            segment = openSegment(entry.sequence());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        int position = segment.position();
+        segment.position(position + Integer.BYTES);
+        segment.putInt((int) crc.getValue());
+        segment.put(body);
+        segment.putInt(position, body.length);
+    }
+
+    private void recover() {
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            segment = openSegment(nextSequence);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        long[] lastSequence = {sequenceOf(last) - 1};
+        segment = mapForWrite(last);
+        readRecords(segment, entry -> {
+            lastSequence[0] = entry.sequence();
+            return true;
+        });
+        nextSequence = lastSequence[0] + 1;
+        log.info("Change journal resumes at sequence {} in {}", nextSequence, last.getFileName());
+    }
+
+    // Returns the timestamp of the last record read
+    private long readRecords(ByteBuffer buffer, Predicate<JournalEntry> consumer) {
+        long lastTimestamp = Long.MIN_VALUE;
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int position = buffer.position();
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.remaining() - HEADER_BYTES) {
+                break;
+            }
+            byte[] body = new byte[length];
+            buffer.get(position + HEADER_BYTES, body);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            JournalEntry entry = decode(ByteBuffer.wrap(body));
+            lastTimestamp = entry.timestampMillis();
+            buffer.position(position + HEADER_BYTES + length);
+            if (!consumer.test(entry)) {
+                break;
+            }
+        }
+        return lastTimestamp;
+    }
+
+    private long firstTimestamp(Path segmentPath) {
+        ByteBuffer buffer = mapForRead(segmentPath);
+        if (buffer.remaining() < HEADER_BYTES + 2 * Long.BYTES || buffer.getInt(0) <= 0) {
+            return Long.MAX_VALUE;
+        }
+        // The timestamp follows the sequence number at the start of the body
+        return buffer.getLong(HEADER_BYTES + Long.BYTES);
+    }
+
+    private static byte[] encode(JournalEntry entry) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 7 + 1 + 4 + 8 * entry.userIds().size() + 4 + 8 * entry.days().size());
+        buffer.putLong(entry.sequence());
+        buffer.putLong(entry.timestampMillis());
+        buffer.put((byte) entry.type().ordinal());
+        buffer.putLong(entry.entityId());
+        buffer.putLong(entry.actorId() != null ? entry.actorId() : NONE);
+        buffer.putLong(entry.ownerId() != null ? entry.ownerId() : NONE);
+        buffer.putLong(entry.startTime() != null ? toEpochMillis(entry.startTime()) : NO_TIME);
+        buffer.putLong(entry.endTime() != null ? toEpochMillis(entry.endTime()) : NO_TIME);
+        buffer.putInt(entry.userIds().size());
+        entry.userIds().forEach(buffer::putLong);
+        buffer.putInt(entry.days().size());
+        entry.days().forEach(day -> buffer.putLong(day.toEpochDay()));
+        return buffer.array();
+    }
+
+    private static JournalEntry decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        long timestamp = buffer.getLong();
+        JournalEntry.Type type = JournalEntry.Type.values()[buffer.get()];
+        long entityId = buffer.getLong();
+        long actorId = buffer.getLong();
+        long ownerId = buffer.getLong();
+        long start = buffer.getLong();
+        long end = buffer.getLong();
+        List<Long> userIds = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            userIds.add(buffer.getLong());
+        }
+        List<LocalDate> days = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            days.add(LocalDate.ofEpochDay(buffer.getLong()));
+        }
+        return new JournalEntry(sequence, timestamp, type, entityId,
+                actorId != NONE ? actorId : null, ownerId != NONE ? ownerId : null,
+                start != NO_TIME ? toLocalDateTime(start) : null, end != NO_TIME ? toLocalDateTime(end) : null,
+                userIds, days);
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer openSegment(long firstSequence) {
+        return mapForWrite(dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX)));
+    }
+
+    private MappedByteBuffer mapForWrite(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer mapForRead(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long sequenceOf(Path segmentPath) {
+        String name = segmentPath.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
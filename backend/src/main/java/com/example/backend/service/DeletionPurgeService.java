@@ -0,0 +1,107 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.AgendaRepository;
+import com.example.backend.repository.MeetingRepository;
+import com.example.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hard-deletes soft-deleted meetings in small batches and deleted users one at a time.
+ * Meetings were announced when they were marked, except those of a deleted user, which
+ * the user's purge announces.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeletionPurgeService {
+
+    private final MeetingRepository meetingRepository;
+    private final AgendaRepository agendaRepository;
+    private final UserRepository userRepository;
+    private final UserDeletionService userDeletionService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.purge.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.purge.batch-pause-ms:100}")
+    private long batchPauseMs;
+
+    @Scheduled(fixedDelayString = "${app.purge.interval-ms:10000}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    public long purge() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long purgedMeetings = 0;
+        long purgedUsers = 0;
+
+        while (true) {
+            Integer purged = transaction.execute(status -> purgeMeetingBatch());
+            if (purged == null || purged == 0) {
+                break;
+            }
+            purgedMeetings += purged;
+            pause();
+        }
+
+        // One batch of users per run; a user that fails is retried on the next run
+        for (Long userId : userRepository.findDeletedIds(batchSize)) {
+            try {
+                if (userDeletionService.purgeUser(userId) > 0) {
+                    meterRegistry.counter("purge.rows.deleted", "table", "users").increment();
+                    purgedUsers++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Purge of deleted user {} failed", userId, e);
+            }
+            pause();
+        }
+
+        if (purgedMeetings > 0 || purgedUsers > 0) {
+            log.info("Purged {} deleted meetings and {} deleted users", purgedMeetings, purgedUsers);
+        }
+        return purgedMeetings + purgedUsers;
+    }
+
+    private int purgeMeetingBatch() {
+        List<Long> ids = meetingRepository.findPurgeableMeetingIds(batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int agendas = agendaRepository.deleteByMeetingIds(ids);
+        int participants = meetingRepository.deleteParticipantsOfMeetings(ids);
+        int meetings = meetingRepository.deleteMeetingsByIds(ids);
+        meterRegistry.counter("purge.rows.deleted", "table", "agendas").increment(agendas);
+        meterRegistry.counter("purge.rows.deleted", "table", "meeting_participants").increment(participants);
+        meterRegistry.counter("purge.rows.deleted", "table", "meetings").increment(meetings);
+        return ids.size();
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
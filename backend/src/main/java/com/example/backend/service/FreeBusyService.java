@@ -0,0 +1,136 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ReplicaRoutingContext;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.repository.MeetingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Merged busy intervals for many users, loaded with one query and cached under each user's
+ * schedule version.
+ */
+@Service
+@RequiredArgsConstructor
+public class FreeBusyService {
+
+    private final MeetingRepository meetingRepository;
+    private final ScheduleVersionTracker versionTracker;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.freebusy.max-users:500}")
+    private int maxUsers;
+
+    @Value("${app.freebusy.max-days:92}")
+    private int maxDays;
+
+    @Value("${app.freebusy.cache-size:5000}")
+    private int cacheSize;
+
+    private Map<CacheKey, CachedBusy> cache;
+
+    private record CacheKey(Long userId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record CachedBusy(long version, List<BusyInterval> busy) {
+    }
+
+    @PostConstruct
+    void initCache() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedBusy> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public Map<Long, List<BusyInterval>> getFreeBusy(Collection<Long> userIds, LocalDateTime start, LocalDateTime end) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new InvalidRequestException("At least one user id is required");
+        }
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new InvalidRequestException("Range start must be before range end");
+        }
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        if (ids.size() > maxUsers) {
+            throw new InvalidRequestException("At most " + maxUsers + " users can be requested at once");
+        }
+        if (Duration.between(start, end).toDays() > maxDays) {
+            throw new InvalidRequestException("Range must not exceed " + maxDays + " days");
+        }
+
+        Map<Long, List<BusyInterval>> result = new LinkedHashMap<>();
+        Map<Long, Long> missVersions = new LinkedHashMap<>();
+        for (Long userId : ids) {
+            long version = versionTracker.currentVersion(userId);
+            CachedBusy cached = cache.get(new CacheKey(userId, start, end));
+            if (cached != null && cached.version() == version) {
+                result.put(userId, cached.busy());
+            } else {
+                result.put(userId, null);
+                missVersions.put(userId, version);
+            }
+        }
+        if (!missVersions.isEmpty()) {
+            // Users changed within the replica lag are read from the primary, the rest from the replica
+            Map<Long, List<BusyInterval>> loaded = new HashMap<>();
+            missVersions.keySet().stream().collect(Collectors.partitioningBy(versionTracker::changedRecently))
+                    .forEach((recent, group) -> {
+                        if (!group.isEmpty()) {
+                            loaded.putAll(ReplicaRoutingContext.read(transactionManager, recent,
+                                    () -> BusyInterval.load(meetingRepository, group, start, end)));
+                        }
+                    });
+            missVersions.forEach((userId, version) -> {
+                List<BusyInterval> busy = merge(loaded.getOrDefault(userId, List.of()), start, end);
+                // Stored under the version read before the query, so a change that commits
+                // meanwhile makes the entry stale instead of hiding it
+                cache.put(new CacheKey(userId, start, end), new CachedBusy(version, busy));
+                result.put(userId, busy);
+            });
+        }
+        return result;
+    }
+
+    private static List<BusyInterval> merge(List<BusyInterval> sorted, LocalDateTime start, LocalDateTime end) {
+        List<BusyInterval> merged = new ArrayList<>();
+        LocalDateTime currentStart = null;
+        LocalDateTime currentEnd = null;
+        for (BusyInterval interval : sorted) {
+            LocalDateTime from = interval.start().isBefore(start) ? start : interval.start();
+            LocalDateTime to = interval.end().isAfter(end) ? end : interval.end();
+            if (currentEnd != null && !from.isAfter(currentEnd)) {
+                if (to.isAfter(currentEnd)) {
+                    currentEnd = to;
+                }
+                continue;
+            }
+            if (currentEnd != null) {
+                merged.add(new BusyInterval(currentStart, currentEnd));
+            }
+            currentStart = from;
+            currentEnd = to;
+        }
+        if (currentEnd != null) {
+            merged.add(new BusyInterval(currentStart, currentEnd));
+        }
+        return List.copyOf(merged);
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.RequestInProgressException;
+import com.example.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response for retried create requests carrying an
+ * {@code Idempotency-Key}. Concurrent duplicates wait for the request in flight; failed
+ * attempts are not stored. Shared claims are leased so a dead node's keys can be taken over.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 200;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.idempotency.shared-store:false}")
+    private boolean sharedStore;
+
+    @Value("${app.idempotency.wait-ms:10000}")
+    private long waitMillis;
+
+    @Value("${app.idempotency.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Value("${app.idempotency.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    private Map<String, StoredResponse> completed;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private record StoredResponse(String fingerprint, int status, String body, long expiresAtMillis) {
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<StoredResponse> result) {
+    }
+
+    @PostConstruct
+    void initCache() {
+        completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String storeKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        StoredResponse stored = lookup(storeKey);
+        if (stored != null) {
+            return replay(stored, fingerprint, bodyType);
+        }
+
+        InFlight flight = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(storeKey, flight);
+        if (running != null) {
+            if (!running.fingerprint().equals(fingerprint)) {
+                throw reusedKey();
+            }
+            return replay(await(running), fingerprint, bodyType);
+        }
+
+        boolean claimed = false;
+        boolean ran = false;
+        try {
+            stored = lookup(storeKey);
+            if (stored == null && sharedStore) {
+                stored = claimShared(storeKey, fingerprint);
+                claimed = stored == null;
+            }
+            if (stored != null) {
+                flight.result().complete(stored);
+                return replay(stored, fingerprint, bodyType);
+            }
+
+            ResponseEntity<T> response = action.get();
+            ran = true;
+            stored = new StoredResponse(fingerprint, response.getStatusCode().value(), toJson(response.getBody()),
+                    System.currentTimeMillis() + ttlSeconds * 1000);
+            completed.put(storeKey, stored);
+            if (claimed) {
+                recordRepository.complete(storeKey, stored.status(), stored.body(),
+                        LocalDateTime.now().plusSeconds(ttlSeconds));
+            }
+            flight.result().complete(stored);
+            return response;
+        } catch (RuntimeException e) {
+            // Once the action has run, the claim is left to lapse rather than freed for a rerun
+            if (claimed && !ran) {
+                recordRepository.release(storeKey);
+            }
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(storeKey, flight);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (completed) {
+            completed.values().removeIf(stored -> stored.expiresAtMillis() <= now);
+        }
+        if (sharedStore) {
+            LocalDateTime cutoff = LocalDateTime.now();
+            while (recordRepository.deleteExpired(cutoff, purgeBatchSize) == purgeBatchSize) {
+                // keep deleting in bounded batches
+            }
+        }
+    }
+
+    private StoredResponse lookup(String storeKey) {
+        StoredResponse stored = completed.get(storeKey);
+        if (stored != null && stored.expiresAtMillis() <= System.currentTimeMillis()) {
+            completed.remove(storeKey, stored);
+            return null;
+        }
+        return stored;
+    }
+
+    // Returns null when this node now owns the request
+    private StoredResponse claimShared(String storeKey, String fingerprint) {
+        recordRepository.deleteIfExpired(storeKey, LocalDateTime.now());
+        long deadline = System.nanoTime() + waitMillis * 1_000_000L;
+        while (true) {
+            LocalDateTime leaseEnd = LocalDateTime.now().plus(Duration.ofMillis(leaseMillis));
+            if (recordRepository.claim(storeKey, fingerprint, leaseEnd) == 1) {
+                return null;
+            }
+            List<Object[]> rows = recordRepository.findState(storeKey);
+            if (!rows.isEmpty()) {
+                Object[] row = rows.get(0);
+                if (!fingerprint.equals(row[0])) {
+                    throw reusedKey();
+                }
+                if (row[1] != null) {
+                    StoredResponse stored = new StoredResponse((String) row[0], ((Number) row[1]).intValue(),
+                            (String) row[2], toEpochMillis(row[3]));
+                    completed.put(storeKey, stored);
+                    return stored;
+                }
+                if (toEpochMillis(row[3]) < System.currentTimeMillis()
+                        && recordRepository.deleteIfExpired(storeKey, LocalDateTime.now()) == 1) {
+                    continue;
+                }
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new RequestInProgressException("A request with this " + HEADER + " is still in progress");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RequestInProgressException("A request with this " + HEADER + " is still in progress");
+            }
+        }
+    }
+
+    private StoredResponse await(InFlight running) {
+        try {
+            return running.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> bodyType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw reusedKey();
+        }
+        try {
+            T body = stored.body() == null ? null : objectMapper.readValue(stored.body(), bodyType);
+            return ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response could not be read", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request could not be fingerprinted", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be stored", e);
+        }
+    }
+
+    private static InvalidRequestException reusedKey() {
+        return new InvalidRequestException(HEADER + " was already used with a different request");
+    }
+
+    private static long toEpochMillis(Object value) {
+        LocalDateTime dateTime = value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@code entityId} is the meeting, agenda or user id; {@code ownerId} the organizer or
+ * agenda owner. Times are after the change, or before it for deletions. {@code actorId} is
+ * always null until the API authenticates its callers.
+ */
+public record JournalEntry(long sequence, long timestampMillis, Type type, long entityId, Long actorId,
+                           Long ownerId, LocalDateTime startTime, LocalDateTime endTime,
+                           List<Long> userIds, List<LocalDate> days) {
+
+    public enum Type {
+        MEETING_CREATED,
+        MEETING_UPDATED,
+        MEETING_DELETED,
+        PARTICIPANT_ADDED,
+        PARTICIPANT_REMOVED,
+        AGENDA_CREATED,
+        AGENDA_UPDATED,
+        AGENDA_DELETED,
+        USER_CREATED,
+        USER_DELETED,
+        // Appended last: the ordinal is what the segments store
+        USER_UPDATED
+    }
+
+    JournalEntry withSequence(long sequence) {
+        return new JournalEntry(sequence, timestampMillis, type, entityId, actorId, ownerId, startTime, endTime,
+                userIds, days);
+    }
+}
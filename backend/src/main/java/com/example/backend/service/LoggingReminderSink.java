@@ -0,0 +1,20 @@
+package com.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class LoggingReminderSink implements ReminderSink {
+
+    @Override
+    public void deliver(List<Reminder> reminders) {
+        for (Reminder reminder : reminders) {
+            log.info("Reminder: meeting {} \"{}\" starts at {} (in {} min) for {} recipients",
+                    reminder.meetingId(), reminder.title(), reminder.startTime(), reminder.offsetMinutes(),
+                    reminder.recipientIds().size());
+        }
+    }
+}
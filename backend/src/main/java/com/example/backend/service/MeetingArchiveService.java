@@ -0,0 +1,232 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Agenda;
+import com.example.backend.entity.ArchivedAgenda;
+import com.example.backend.entity.ArchivedMeeting;
+import com.example.backend.entity.Meeting;
+import com.example.backend.event.MeetingsArchivedEvent;
+import com.example.backend.repository.AgendaRepository;
+import com.example.backend.repository.ArchivedAgendaRepository;
+import com.example.backend.repository.ArchivedMeetingRepository;
+import com.example.backend.repository.MeetingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Moves ended meetings with their participants and agendas into the {@code *_archive}
+ * tables in throttled batches, and serves them back to reads past the horizon.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MeetingArchiveService {
+
+    private final ArchivedMeetingRepository archivedMeetingRepository;
+    private final ArchivedAgendaRepository archivedAgendaRepository;
+    private final MeetingRepository meetingRepository;
+    private final AgendaRepository agendaRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.horizon-days:180}")
+    private int horizonDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    private final AtomicLong hotMeetings = new AtomicLong();
+    private final AtomicLong hotAgendas = new AtomicLong();
+    private Counter meetingsMoved;
+    private Counter participantsMoved;
+    private Counter agendasMoved;
+
+    @PostConstruct
+    void registerMetrics() {
+        meetingsMoved = meterRegistry.counter("archive.rows.moved", "table", "meetings");
+        participantsMoved = meterRegistry.counter("archive.rows.moved", "table", "meeting_participants");
+        agendasMoved = meterRegistry.counter("archive.rows.moved", "table", "agendas");
+        Gauge.builder("archive.hot.rows", hotMeetings, AtomicLong::get).tag("table", "meetings").register(meterRegistry);
+        Gauge.builder("archive.hot.rows", hotAgendas, AtomicLong::get).tag("table", "agendas").register(meterRegistry);
+    }
+
+    public LocalDateTime archiveCutoff() {
+        return LocalDate.now().minusDays(horizonDays).atStartOfDay();
+    }
+
+    public boolean reachesIntoArchive(LocalDateTime from) {
+        return from == null || from.isBefore(archiveCutoff());
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archivePastMeetings();
+        }
+    }
+
+    public long archivePastMeetings() {
+        LocalDateTime cutoff = archiveCutoff();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long archivedMeetings = 0;
+        long archivedStandaloneAgendas = 0;
+
+        while (true) {
+            Integer moved = transaction.execute(status -> archiveMeetingBatch(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archivedMeetings += moved;
+            pause();
+        }
+
+        while (true) {
+            Integer moved = transaction.execute(status -> archiveStandaloneAgendaBatch(cutoff.toLocalDate()));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archivedStandaloneAgendas += moved;
+            pause();
+        }
+
+        hotMeetings.set(meetingRepository.count());
+        hotAgendas.set(agendaRepository.count());
+        log.info("Archived {} meetings and {} standalone agendas older than {}",
+                archivedMeetings, archivedStandaloneAgendas, cutoff);
+        return archivedMeetings;
+    }
+
+    private int archiveMeetingBatch(LocalDateTime cutoff) {
+        List<Long> ids = archivedMeetingRepository.findHotMeetingIdsEndingBefore(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int meetings = archivedMeetingRepository.copyMeetings(ids, now);
+        int participants = archivedMeetingRepository.copyParticipants(ids);
+        int agendas = archivedAgendaRepository.copyAgendasOfMeetings(ids, now);
+
+        archivedAgendaRepository.deleteHotAgendasOfMeetings(ids);
+        archivedMeetingRepository.deleteHotParticipants(ids);
+        archivedMeetingRepository.deleteHotMeetings(ids);
+        eventPublisher.publishEvent(new MeetingsArchivedEvent(ids));
+
+        meetingsMoved.increment(meetings);
+        participantsMoved.increment(participants);
+        agendasMoved.increment(agendas);
+        return ids.size();
+    }
+
+    private int archiveStandaloneAgendaBatch(LocalDate cutoff) {
+        List<Long> ids = archivedAgendaRepository.findHotStandaloneAgendaIdsBefore(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int agendas = archivedAgendaRepository.copyAgendas(ids, LocalDateTime.now());
+        archivedAgendaRepository.deleteHotAgendas(ids);
+        agendasMoved.increment(agendas);
+        return ids.size();
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void deleteArchivedDataOfUser(Long userId) {
+        archivedAgendaRepository.deleteAgendasOfUser(userId);
+        archivedMeetingRepository.deleteParticipantsOfUser(userId);
+        archivedMeetingRepository.deleteMeetingsOrganizedBy(userId);
+    }
+
+    public List<Meeting> getArchivedMeetingsByOrganizer(Long organizerId, LocalDateTime from, LocalDateTime to) {
+        return toMeetings(archivedMeetingRepository.findByOrganizerIdInWindow(organizerId, from, to));
+    }
+
+    public List<Meeting> getArchivedMeetingsByUser(Long userId, LocalDateTime from, LocalDateTime to,
+                                                   int limit, long offset) {
+        return toMeetings(archivedMeetingRepository.findByUserInWindow(userId, from, to, limit, offset));
+    }
+
+    public long countArchivedMeetingsByUser(Long userId, LocalDateTime from, LocalDateTime to) {
+        return archivedMeetingRepository.countByUserInWindow(userId, from, to);
+    }
+
+    public List<Meeting> getArchivedMeetingsByIds(List<Long> ids) {
+        return toMeetings(archivedMeetingRepository.findAllById(ids));
+    }
+
+    public List<Agenda> getArchivedAgendasByUser(Long userId, LocalDate from, LocalDate to) {
+        return archivedAgendaRepository.findByUserIdAndDateBetween(userId, from, to).stream()
+                .map(MeetingArchiveService::toAgenda)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Meeting> toMeetings(List<ArchivedMeeting> archived) {
+        return archived.stream()
+                .map(MeetingArchiveService::toMeeting)
+                .collect(Collectors.toList());
+    }
+
+    // Archived rows are exposed as detached, never-persisted hot entities so mappers need no changes
+    private static Meeting toMeeting(ArchivedMeeting archived) {
+        return Meeting.builder()
+                .id(archived.getId())
+                .title(archived.getTitle())
+                .description(archived.getDescription())
+                .startTime(archived.getStartTime())
+                .endTime(archived.getEndTime())
+                .organizer(archived.getOrganizer())
+                .participants(archived.getParticipants() != null
+                        ? new LinkedHashSet<>(archived.getParticipants()) : null)
+                .build();
+    }
+
+    private static Agenda toAgenda(ArchivedAgenda archived) {
+        Meeting meeting = null;
+        if (archived.getMeeting() != null) {
+            meeting = Meeting.builder()
+                    .id(archived.getMeeting().getId())
+                    .title(archived.getMeeting().getTitle())
+                    .build();
+        }
+        return Agenda.builder()
+                .id(archived.getId())
+                .user(archived.getUser())
+                .meeting(meeting)
+                .date(archived.getDate())
+                .startTime(archived.getStartTime())
+                .endTime(archived.getEndTime())
+                .status(archived.getStatus())
+                .build();
+    }
+}
@@ -0,0 +1,501 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.MeetingRepository;
+import com.example.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Plans many meetings at once without booking them. Parallel branch-and-bound searches,
+ * each over a different session order, share the best plan and stop at the time budget.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MeetingSchedulerService {
+
+    private final MeetingRepository meetingRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.scheduling.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.scheduling.orderings:8}")
+    private int orderings;
+
+    @Value("${app.scheduling.max-sessions:200}")
+    private int maxSessions;
+
+    @Value("${app.scheduling.max-candidates:500}")
+    private int maxCandidates;
+
+    @Value("${app.scheduling.max-range-days:31}")
+    private int maxRangeDays;
+
+    @Value("${app.scheduling.default-budget-ms:2000}")
+    private long defaultBudgetMs;
+
+    @Value("${app.scheduling.max-budget-ms:30000}")
+    private long maxBudgetMs;
+
+    private ExecutorService pool;
+
+    // Starts at a multiple of stepMinutes after windowStart and ends by windowEnd
+    public record SessionRequest(String key, Long organizerId, List<Long> participantIds,
+                                 int durationMinutes, LocalDateTime windowStart, LocalDateTime windowEnd) {
+    }
+
+    public record Assignment(String key, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    public record Plan(boolean complete, List<Assignment> scheduled, List<String> unscheduled,
+                       int sessions, int attendees, long candidates, long nodesExplored, long solveMillis) {
+    }
+
+    @PostConstruct
+    void initPool() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "meeting-scheduler-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public Plan solve(List<SessionRequest> requests, Integer stepMinutes, Long budgetMs) {
+        validate(requests);
+        int step = stepMinutes != null ? stepMinutes : BusyBitmapService.SLOT_MINUTES;
+        if (step <= 0) {
+            throw new InvalidRequestException("Step must be a positive number of minutes");
+        }
+        long budget = Math.min(budgetMs != null && budgetMs > 0 ? budgetMs : defaultBudgetMs, maxBudgetMs);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(budget);
+
+        Set<Long> attendeeIds = new LinkedHashSet<>();
+        requests.forEach(request -> attendeeIds.addAll(attendeesOf(request)));
+        LocalDateTime rangeStart = requests.stream().map(SessionRequest::windowStart)
+                .min(Comparator.naturalOrder()).orElseThrow().truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime rangeEnd = requests.stream().map(SessionRequest::windowEnd)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        if (Duration.between(rangeStart, rangeEnd).toDays() > maxRangeDays) {
+            throw new InvalidRequestException("Session windows must fall within " + maxRangeDays + " days");
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Map<Long, List<BusyInterval>> busy = transaction.execute(status -> {
+            List<Long> existing = userRepository.findAllById(attendeeIds).stream()
+                    .map(User::getId)
+                    .collect(Collectors.toList());
+            if (existing.size() < attendeeIds.size()) {
+                Set<Long> missing = new LinkedHashSet<>(attendeeIds);
+                existing.forEach(missing::remove);
+                throw new ResourceNotFoundException("Users with ids " + missing + " not found");
+            }
+            return BusyInterval.load(meetingRepository, attendeeIds, rangeStart, rangeEnd);
+        });
+
+        Plan plan = plan(requests, busy, rangeStart, step, startedAt, deadline);
+        Timer.builder("scheduling.solve")
+                .tag("sessions", sizeBucket(requests.size()))
+                .tag("complete", Boolean.toString(plan.complete()))
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        log.info("Scheduled {}/{} sessions for {} attendees over {} candidates in {} ms ({} nodes)",
+                plan.scheduled().size(), plan.sessions(), plan.attendees(), plan.candidates(),
+                plan.solveMillis(), plan.nodesExplored());
+        return plan;
+    }
+
+    // deadline is in System.nanoTime() terms
+    Plan plan(List<SessionRequest> requests, Map<Long, List<BusyInterval>> busy, LocalDateTime origin,
+              int step, long startedAt, long deadline) {
+        Problem problem = Problem.build(requests, busy, origin, step, maxCandidates);
+        Search search = new Search(problem, deadline);
+        List<Future<?>> workers = orderings(problem, Math.max(1, orderings)).stream()
+                .map(order -> pool.submit(new Worker(search, order)))
+                .collect(Collectors.toList());
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            search.stopped = true;
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            search.stopped = true;
+            throw new IllegalStateException("Scheduling search failed", e.getCause());
+        }
+        return search.toPlan(problem, problem.attendeeCount, System.nanoTime() - startedAt);
+    }
+
+    private void validate(List<SessionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidRequestException("At least one session is required");
+        }
+        if (requests.size() > maxSessions) {
+            throw new InvalidRequestException("At most " + maxSessions + " sessions can be scheduled at once");
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (SessionRequest request : requests) {
+            if (request.key() == null || !keys.add(request.key())) {
+                throw new InvalidRequestException("Every session needs a unique key");
+            }
+            if (request.organizerId() == null) {
+                throw new InvalidRequestException("Session " + request.key() + " has no organizer");
+            }
+            if (request.durationMinutes() <= 0) {
+                throw new InvalidRequestException("Session " + request.key() + " needs a positive duration");
+            }
+            if (request.windowStart() == null || request.windowEnd() == null
+                    || request.windowStart().plusMinutes(request.durationMinutes()).isAfter(request.windowEnd())) {
+                throw new InvalidRequestException("Window of session " + request.key() + " cannot fit its duration");
+            }
+        }
+    }
+
+    private static Set<Long> attendeesOf(SessionRequest request) {
+        Set<Long> attendees = new LinkedHashSet<>();
+        attendees.add(request.organizerId());
+        if (request.participantIds() != null) {
+            attendees.addAll(request.participantIds());
+        }
+        return attendees;
+    }
+
+    private static String sizeBucket(int sessions) {
+        if (sessions <= 10) {
+            return "1-10";
+        }
+        if (sessions <= 50) {
+            return "11-50";
+        }
+        return "51+";
+    }
+
+    // Most constrained, most attendees and longest first, then seeded shuffles
+    private static List<int[]> orderings(Problem problem, int count) {
+        int n = problem.sessions.length;
+        List<Comparator<Integer>> heuristics = List.of(
+                Comparator.comparingInt(i -> problem.sessions[i].candidates.length),
+                Comparator.<Integer>comparingInt(i -> problem.sessions[i].attendees.length).reversed(),
+                Comparator.<Integer>comparingLong(i -> problem.sessions[i].duration).reversed());
+        List<int[]> orders = new ArrayList<>();
+        for (int k = 0; k < count; k++) {
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            if (k < heuristics.size()) {
+                Arrays.sort(order, heuristics.get(k));
+            } else {
+                Collections.shuffle(Arrays.asList(order), new Random(k));
+            }
+            orders.add(Arrays.stream(order).mapToInt(Integer::intValue).toArray());
+        }
+        return orders;
+    }
+
+    // Attendees as dense indexes, times in minutes from the origin
+    private static final class Problem {
+        final SessionRequest[] requests;
+        final Session[] sessions;
+        final int attendeeCount;
+        final LocalDateTime origin;
+
+        private Problem(SessionRequest[] requests, Session[] sessions, int attendeeCount, LocalDateTime origin) {
+            this.requests = requests;
+            this.sessions = sessions;
+            this.attendeeCount = attendeeCount;
+            this.origin = origin;
+        }
+
+        static Problem build(List<SessionRequest> requests, Map<Long, List<BusyInterval>> busy,
+                             LocalDateTime origin, int step, int maxCandidates) {
+            Map<Long, Integer> attendeeIndex = new HashMap<>();
+            Map<Integer, long[][]> busyMinutes = new HashMap<>();
+            Session[] sessions = new Session[requests.size()];
+            for (int i = 0; i < sessions.length; i++) {
+                SessionRequest request = requests.get(i);
+                int[] attendees = attendeesOf(request).stream()
+                        .mapToInt(id -> attendeeIndex.computeIfAbsent(id, key -> {
+                            int index = attendeeIndex.size();
+                            busyMinutes.put(index, toMinutes(busy.getOrDefault(id, List.of()), origin));
+                            return index;
+                        }))
+                        .toArray();
+                long windowStart = minutes(origin, request.windowStart());
+                long windowEnd = minutes(origin, request.windowEnd());
+                long duration = request.durationMinutes();
+                List<Long> candidates = new ArrayList<>();
+                for (long start = windowStart; start + duration <= windowEnd && candidates.size() < maxCandidates;
+                     start += step) {
+                    if (isFree(attendees, busyMinutes, start, start + duration)) {
+                        candidates.add(start);
+                    }
+                }
+                sessions[i] = new Session(attendees, duration,
+                        candidates.stream().mapToLong(Long::longValue).toArray());
+            }
+            return new Problem(requests.toArray(SessionRequest[]::new), sessions, attendeeIndex.size(), origin);
+        }
+
+        private static boolean isFree(int[] attendees, Map<Integer, long[][]> busyMinutes, long start, long end) {
+            for (int attendee : attendees) {
+                long[][] intervals = busyMinutes.get(attendee);
+                // Intervals are disjoint and sorted; only the last one starting before the
+                // candidate ends can overlap it
+                int low = 0;
+                int high = intervals.length - 1;
+                int found = -1;
+                while (low <= high) {
+                    int mid = (low + high) >>> 1;
+                    if (intervals[mid][0] < end) {
+                        found = mid;
+                        low = mid + 1;
+                    } else {
+                        high = mid - 1;
+                    }
+                }
+                if (found >= 0 && intervals[found][1] > start) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long[][] toMinutes(List<BusyInterval> intervals, LocalDateTime origin) {
+            List<long[]> sorted = intervals.stream()
+                    .map(interval -> new long[]{minutes(origin, interval.start()), ceilMinutes(origin, interval.end())})
+                    .sorted(Comparator.comparingLong(interval -> interval[0]))
+                    .collect(Collectors.toList());
+            List<long[]> merged = new ArrayList<>();
+            for (long[] interval : sorted) {
+                long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && interval[0] <= last[1]) {
+                    last[1] = Math.max(last[1], interval[1]);
+                } else {
+                    merged.add(interval);
+                }
+            }
+            return merged.toArray(long[][]::new);
+        }
+
+        private static long minutes(LocalDateTime origin, LocalDateTime time) {
+            return Math.floorDiv(Duration.between(origin, time).getSeconds(), 60);
+        }
+
+        private static long ceilMinutes(LocalDateTime origin, LocalDateTime time) {
+            return Math.floorDiv(Duration.between(origin, time).getSeconds() + 59, 60);
+        }
+    }
+
+    private record Session(int[] attendees, long duration, long[] candidates) {
+    }
+
+    private static final class Search {
+        final Problem problem;
+        final long deadline;
+        final AtomicReference<long[]> best = new AtomicReference<>();
+        final AtomicLong bestCount = new AtomicLong(-1);
+        final AtomicLong nodes = new AtomicLong();
+        volatile boolean stopped;
+
+        Search(Problem problem, long deadline) {
+            this.problem = problem;
+            this.deadline = deadline;
+        }
+
+        synchronized void offer(long[] starts, int count) {
+            if (count > bestCount.get()) {
+                best.set(starts.clone());
+                bestCount.set(count);
+                if (count == problem.sessions.length) {
+                    stopped = true;
+                }
+            }
+        }
+
+        Plan toPlan(Problem problem, int attendees, long elapsedNanos) {
+            long[] starts = best.get();
+            List<Assignment> scheduled = new ArrayList<>();
+            List<String> unscheduled = new ArrayList<>();
+            for (int i = 0; i < problem.sessions.length; i++) {
+                SessionRequest request = problem.requests[i];
+                if (starts != null && starts[i] >= 0) {
+                    LocalDateTime start = problem.origin.plusMinutes(starts[i]);
+                    scheduled.add(new Assignment(request.key(), start, start.plusMinutes(problem.sessions[i].duration)));
+                } else {
+                    unscheduled.add(request.key());
+                }
+            }
+            long candidates = Arrays.stream(problem.sessions).mapToLong(session -> session.candidates.length).sum();
+            return new Plan(unscheduled.isEmpty(), scheduled, unscheduled, problem.sessions.length, attendees,
+                    candidates, nodes.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    // Cuts a branch once placing every remaining placeable session could not beat the best plan
+    private static final class Worker implements Runnable {
+        private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+        private final Search search;
+        private final int[] order;
+        private final long[] starts;
+        // Start to end of the sessions placed so far, per attendee; they never overlap
+        private final List<TreeMap<Long, Long>> booked;
+        // Sessions from each depth on that have any candidate at all
+        private final int[] placeableFrom;
+        private long localNodes;
+
+        Worker(Search search, int[] order) {
+            this.search = search;
+            this.order = order;
+            this.starts = new long[order.length];
+            Arrays.fill(starts, -1);
+            this.booked = new ArrayList<>();
+            for (int i = 0; i < search.problem.attendeeCount; i++) {
+                booked.add(new TreeMap<>());
+            }
+            this.placeableFrom = new int[order.length + 1];
+            for (int depth = order.length - 1; depth >= 0; depth--) {
+                boolean placeable = search.problem.sessions[order[depth]].candidates.length > 0;
+                placeableFrom[depth] = placeableFrom[depth + 1] + (placeable ? 1 : 0);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                descend(0, 0);
+            } finally {
+                search.nodes.addAndGet(localNodes);
+            }
+        }
+
+        private void descend(int depth, int placed) {
+            if (search.stopped) {
+                return;
+            }
+            if (++localNodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > search.deadline) {
+                search.stopped = true;
+                return;
+            }
+            if (!canBeat(depth, placed)) {
+                return;
+            }
+            if (depth == order.length) {
+                search.offer(starts, placed);
+                return;
+            }
+            int index = order[depth];
+            Session session = search.problem.sessions[index];
+            for (long start : session.candidates) {
+                long end = start + session.duration;
+                if (fits(session.attendees, start, end)) {
+                    book(session.attendees, index, start, end);
+                    descend(depth + 1, placed + 1);
+                    unbook(session.attendees, index);
+                    if (search.stopped) {
+                        return;
+                    }
+                }
+            }
+            descend(depth + 1, placed);
+        }
+
+        private boolean canBeat(int depth, int placed) {
+            long best = search.bestCount.get();
+            int bound = placed + placeableFrom[depth];
+            if (bound <= best) {
+                return false;
+            }
+            // Tighten the bound by the remaining sessions the placed ones have crowded out
+            for (int next = depth; next < order.length && bound > best; next++) {
+                Session session = search.problem.sessions[order[next]];
+                if (session.candidates.length > 0 && !hasFreeCandidate(session)) {
+                    bound--;
+                }
+            }
+            return bound > best;
+        }
+
+        private boolean hasFreeCandidate(Session session) {
+            for (long start : session.candidates) {
+                if (fits(session.attendees, start, start + session.duration)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean fits(int[] attendees, long start, long end) {
+            for (int attendee : attendees) {
+                Map.Entry<Long, Long> before = booked.get(attendee).lowerEntry(end);
+                if (before != null && before.getValue() > start) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void book(int[] attendees, int index, long start, long end) {
+            starts[index] = start;
+            for (int attendee : attendees) {
+                booked.get(attendee).put(start, end);
+            }
+        }
+
+        private void unbook(int[] attendees, int index) {
+            long start = starts[index];
+            starts[index] = -1;
+            for (int attendee : attendees) {
+                booked.get(attendee).remove(start);
+            }
+        }
+    }
+}
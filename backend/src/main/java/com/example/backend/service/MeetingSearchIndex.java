@@ -0,0 +1,285 @@
+package com.example.backend.service;
+
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import com.example.backend.event.MeetingsArchivedEvent;
+import com.example.backend.repository.MeetingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory TF-IDF index over meeting titles and descriptions, kept current from
+ * {@link MeetingChangedEvent}s and built by {@link WarmupService} at startup. Covers hot
+ * meetings only: archived meetings leave the index as they are moved, as on a rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MeetingSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final MeetingRepository meetingRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexState state = new IndexState();
+    private List<MeetingChangedEvent> changesDuringRebuild;
+
+    private static final class IndexState {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, IndexedMeeting> documents = new HashMap<>();
+
+        void put(IndexedMeeting meeting) {
+            remove(meeting.id());
+            documents.put(meeting.id(), meeting);
+            meeting.termWeights().forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(meeting.id(), weight));
+        }
+
+        void remove(Long meetingId) {
+            IndexedMeeting existing = documents.remove(meetingId);
+            if (existing == null) {
+                return;
+            }
+            for (String term : existing.termWeights().keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(meetingId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    private record IndexedMeeting(Long id, LocalDateTime startTime, LocalDateTime endTime,
+                                  Long organizerId, Set<Long> participantIds, Map<String, Integer> termWeights) {
+
+        boolean involves(Long userId) {
+            return userId.equals(organizerId) || participantIds.contains(userId);
+        }
+    }
+
+    private record ScoredHit(Long meetingId, double score, LocalDateTime startTime) {
+    }
+
+    public List<Long> search(String query, LocalDateTime from, LocalDateTime to, Long userId, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Walk the rarest posting list and probe the others
+            List<Map<Long, Integer>> postingLists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> posting = state.postings.get(term);
+                if (posting == null) {
+                    return List.of();
+                }
+                postingLists.add(posting);
+            }
+            postingLists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            int documentCount = state.documents.size();
+            PriorityQueue<ScoredHit> top = new PriorityQueue<>(Math.min(limit, 1024) + 1, MeetingSearchIndex::compareHits);
+            for (Long meetingId : postingLists.get(0).keySet()) {
+                IndexedMeeting meeting = state.documents.get(meetingId);
+                if ((from != null && meeting.startTime().isBefore(from))
+                        || (to != null && !meeting.startTime().isBefore(to))
+                        || (userId != null && !meeting.involves(userId))) {
+                    continue;
+                }
+                double score = 0;
+                boolean matchesAll = true;
+                for (Map<Long, Integer> posting : postingLists) {
+                    Integer weight = posting.get(meetingId);
+                    if (weight == null) {
+                        matchesAll = false;
+                        break;
+                    }
+                    score += weight * Math.log(1.0 + (double) documentCount / posting.size());
+                }
+                if (matchesAll) {
+                    top.offer(new ScoredHit(meetingId, score, meeting.startTime()));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<ScoredHit> hits = new ArrayList<>(top);
+            hits.sort((a, b) -> compareHits(b, a));
+            return hits.stream().map(ScoredHit::meetingId).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        applyAll(List.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingsArchived(MeetingsArchivedEvent event) {
+        applyAll(event.getMeetingIds().stream()
+                .map(meetingId -> new MeetingChangedEvent(MeetingChangedEvent.Type.DELETED, meetingId, null, null, Set.of()))
+                .toList());
+    }
+
+    // Changes committed during the rebuild are replayed onto the new index before the swap
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        IndexState target = new IndexState();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> load(target));
+
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(event -> apply(target, event));
+                state = target;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int indexed = size();
+        log.info("Meeting search index rebuilt with {} meetings in {} ms",
+                indexed, (System.nanoTime() - started) / 1_000_000);
+        return indexed;
+    }
+
+    private void load(IndexState target) {
+        Map<Long, Set<Long>> participants = new HashMap<>();
+        try (Stream<Object[]> rows = meetingRepository.streamParticipantPairs()) {
+            rows.forEach(row -> participants.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]));
+        }
+
+        try (Stream<Object[]> rows = meetingRepository.streamSearchDocuments()) {
+            rows.forEach(row -> {
+                Long meetingId = (Long) row[0];
+                target.put(toIndexed(meetingId, (String) row[1], (String) row[2],
+                        (LocalDateTime) row[3], (LocalDateTime) row[4], (Long) row[5],
+                        participants.getOrDefault(meetingId, Set.of())));
+            });
+        }
+    }
+
+    private void applyAll(List<MeetingChangedEvent> events) {
+        lock.writeLock().lock();
+        try {
+            for (MeetingChangedEvent event : events) {
+                apply(state, event);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(event);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isParticipantChange(MeetingChangedEvent event) {
+        return event.getAfter() != null && event.getAfter().getParticipantIds() == null;
+    }
+
+    private static void apply(IndexState target, MeetingChangedEvent event) {
+        MeetingSnapshot after = event.getAfter();
+        if (isParticipantChange(event)) {
+            IndexedMeeting existing = target.documents.get(event.getMeetingId());
+            if (existing != null) {
+                Set<Long> participantIds = new HashSet<>(existing.participantIds());
+                if (event.getType() == MeetingChangedEvent.Type.PARTICIPANT_ADDED) {
+                    participantIds.addAll(event.getAffectedUserIds());
+                } else {
+                    participantIds.removeAll(event.getAffectedUserIds());
+                }
+                target.documents.put(existing.id(), new IndexedMeeting(existing.id(), existing.startTime(),
+                        existing.endTime(), existing.organizerId(), Set.copyOf(participantIds), existing.termWeights()));
+            }
+        } else if (after == null) {
+            target.remove(event.getMeetingId());
+        } else {
+            target.put(toIndexed(after.getId(), after.getTitle(), after.getDescription(), after.getStartTime(),
+                    after.getEndTime(), after.getOrganizerId(), after.getParticipantIds()));
+        }
+    }
+
+    private static IndexedMeeting toIndexed(Long id, String title, String description, LocalDateTime startTime,
+                                            LocalDateTime endTime, Long organizerId, Set<Long> participantIds) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return new IndexedMeeting(id, startTime, endTime, organizerId, Set.copyOf(participantIds), weights);
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int compareHits(ScoredHit a, ScoredHit b) {
+        int byScore = Double.compare(a.score(), b.score());
+        return byScore != 0 ? byScore : b.startTime().compareTo(a.startTime());
+    }
+}
@@ -2,108 +2,256 @@ package com.example.backend.service;
 
 import com.example.backend.entity.Meeting;
 import com.example.backend.entity.User;
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
 import com.example.backend.exception.InvalidRequestException;
 import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.mapper.FieldSelection;
+import com.example.backend.repository.BookingConflict;
 import com.example.backend.repository.MeetingRepository;
 import com.example.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MeetingService {
 
+    private static final int MAX_SEARCH_RESULTS = 500;
+    private static final int MAX_PARTICIPANT_PAGE_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Bounds of the MySQL DATETIME range, used when only one side of a window is given
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final MeetingRepository meetingRepository;
     private final UserRepository userRepository;
     private final AgendaService agendaService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeetingSearchIndex searchIndex;
+    private final MeetingArchiveService archiveService;
+    private final BookingLockManager bookingLocks;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
 
-    @Transactional
+    @Value("${app.batch.max-ids:100}")
+    private int maxBatchIds;
+
+    @Value("${app.meetings.max-participants:10000}")
+    private int maxParticipants;
+
+    @Value("${app.meetings.participant-chunk-size:500}")
+    private int participantChunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    // Bookings always commit before their stripe locks are released, even inside a caller's transaction
+    @PostConstruct
+    void initTransactionTemplate() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // The check and the insert run under booking locks and user row locks, so concurrent bookings for one person cannot both pass
     public Meeting createMeeting(Meeting meeting) {
         if (meeting.getStartTime().isAfter(meeting.getEndTime())) {
             throw new InvalidRequestException("Start time must be before end time");
         }
         
-        User organizer = userRepository.findById(meeting.getOrganizer().getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Organizer with id " + meeting.getOrganizer().getId() + " not found"));
+        Long organizerId = meeting.getOrganizer().getId();
+        Set<Long> attendeeIds = new TreeSet<>();
+        attendeeIds.add(organizerId);
+        if (meeting.getParticipants() != null) {
+            meeting.getParticipants().forEach(participant -> attendeeIds.add(participant.getId()));
+        }
+        if (attendeeIds.size() > maxParticipants + 1) {
+            throw new InvalidRequestException("A meeting can have at most " + maxParticipants + " participants");
+        }
         
-        // Check if organizer has conflicting meetings
-        List<Meeting> organizerMeetings = meetingRepository.findByOrganizerId(organizer.getId());
-        for (Meeting existingMeeting : organizerMeetings) {
-            if (hasTimeConflict(meeting.getStartTime(), meeting.getEndTime(), 
-                               existingMeeting.getStartTime(), existingMeeting.getEndTime())) {
-                throw new InvalidRequestException(
-                    "Organizer already has a meeting scheduled between " + 
-                    existingMeeting.getStartTime() + " and " + existingMeeting.getEndTime());
+        return bookingLocks.withUserLocks(attendeeIds,
+                () -> transactionTemplate.execute(status -> doCreateMeeting(meeting, organizerId, attendeeIds)));
+    }
+
+    private Meeting doCreateMeeting(Meeting meeting, Long organizerId, Set<Long> attendeeIds) {
+        List<List<Long>> attendeeChunks = BatchIds.chunks(attendeeIds, participantChunkSize);
+        Set<Long> existingIds = new HashSet<>();
+        for (List<Long> chunk : attendeeChunks) {
+            existingIds.addAll(userRepository.lockUserRows(chunk));
+        }
+        if (!existingIds.contains(organizerId)) {
+            throw new ResourceNotFoundException("Organizer with id " + organizerId + " not found");
+        }
+        for (Long attendeeId : attendeeIds) {
+            if (!existingIds.contains(attendeeId)) {
+                throw new ResourceNotFoundException("Participant with id " + attendeeId + " not found");
             }
         }
         
-        meeting.setOrganizer(organizer);
-        
-        if (meeting.getParticipants() != null && !meeting.getParticipants().isEmpty()) {
-            List<User> participants = new ArrayList<>();
-            for (User participant : meeting.getParticipants()) {
-                User user = userRepository.findById(participant.getId())
-                        .orElseThrow(() -> new ResourceNotFoundException(
-                                "Participant with id " + participant.getId() + " not found"));
-                
-                // Check if participant has conflicting meetings
-                List<Meeting> participantMeetings = meetingRepository.findByParticipantsId(user.getId());
-                for (Meeting existingMeeting : participantMeetings) {
-                    if (hasTimeConflict(meeting.getStartTime(), meeting.getEndTime(), 
-                                       existingMeeting.getStartTime(), existingMeeting.getEndTime())) {
-                        throw new InvalidRequestException(
-                            user.getName() + " already has a meeting scheduled between " + 
-                            existingMeeting.getStartTime() + " and " + existingMeeting.getEndTime());
-                    }
-                }
-                
-                participants.add(user);
-            }
-            meeting.setParticipants(participants);
+        for (List<Long> chunk : attendeeChunks) {
+            checkConflicts(chunk, organizerId, meeting.getStartTime(), meeting.getEndTime(), null);
         }
         
+        Set<Long> participantIds = new TreeSet<>();
+        if (meeting.getParticipants() != null) {
+            meeting.getParticipants().forEach(participant -> participantIds.add(participant.getId()));
+        }
+        meeting.setOrganizer(userRepository.getReferenceById(organizerId));
+        meeting.setParticipants(null);
+        meeting.setParticipantCount(participantIds.size());
         Meeting savedMeeting = meetingRepository.save(meeting);
         
-        // Create agenda for organizer
-        agendaService.createAgendaFromMeeting(organizer, meeting.getStartTime(), meeting.getEndTime(), savedMeeting);
-        
-        // Create agendas for all participants
-        if (savedMeeting.getParticipants() != null) {
-            for (User participant : savedMeeting.getParticipants()) {
-                agendaService.createAgendaFromMeeting(participant, meeting.getStartTime(), meeting.getEndTime(), savedMeeting);
-            }
+        // Participant rows and agendas are written set-based, a chunk at a time, so memory
+        // stays bounded however many people are invited
+        for (List<Long> chunk : BatchIds.chunks(participantIds, participantChunkSize)) {
+            meetingRepository.insertParticipants(savedMeeting.getId(), chunk);
+        }
+        for (List<Long> chunk : attendeeChunks) {
+            agendaService.createAgendasFromMeeting(chunk, savedMeeting);
         }
+        entityManager.flush();
+        entityManager.refresh(savedMeeting);
         
+        publish(MeetingChangedEvent.Type.CREATED, null, MeetingSnapshot.of(savedMeeting, participantIds));
         return savedMeeting;
     }
     
-    private boolean hasTimeConflict(LocalDateTime start1, LocalDateTime end1, 
-                                    LocalDateTime start2, LocalDateTime end2) {
-        return start1.isBefore(end2) && end1.isAfter(start2);
+    // excludeMeetingId skips the meeting being rescheduled
+    private void checkConflicts(Collection<Long> userIds, Long organizerId, LocalDateTime start,
+                                LocalDateTime end, Long excludeMeetingId) {
+        Long excluded = excludeMeetingId != null ? excludeMeetingId : -1L;
+        PageRequest first = PageRequest.of(0, 1);
+        List<BookingConflict> conflicts = meetingRepository.findOrganizerConflicts(userIds, start, end, excluded, first);
+        if (conflicts.isEmpty()) {
+            conflicts = meetingRepository.findParticipantConflicts(userIds, start, end, excluded, first);
+        }
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        
+        BookingConflict conflict = conflicts.get(0);
+        rejectConflict(conflict.getUserId(), organizerId, conflict.getStartTime(), conflict.getEndTime());
+    }
+
+    private void rejectConflict(Long userId, Long organizerId, LocalDateTime start, LocalDateTime end) {
+        String who = userId.equals(organizerId)
+                ? "Organizer"
+                : userRepository.findById(userId).map(User::getName).orElse("User " + userId);
+        throw new InvalidRequestException(
+            who + " already has a meeting scheduled between " + 
+            start + " and " + end);
     }
 
+    @Transactional(readOnly = true)
     public Meeting getMeetingById(Long id) {
         return meetingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Meeting with id " + id + " not found"));
     }
 
+    @Transactional(readOnly = true)
+    public Meeting getMeetingIncludingArchive(Long id) {
+        return meetingRepository.findById(id)
+                .or(() -> archiveService.getArchivedMeetingsByIds(List.of(id)).stream().findFirst())
+                .orElseThrow(() -> new ResourceNotFoundException("Meeting with id " + id + " not found"));
+    }
+
+    // Keeps the order of ids; ids missing from the hot tables are looked up in the archive
+    @Transactional(readOnly = true)
+    public List<Meeting> getMeetingsByIds(List<Long> ids) {
+        List<Long> distinctIds = BatchIds.distinct(ids, maxBatchIds);
+        Map<Long, Meeting> byId = meetingRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Meeting::getId, Function.identity()));
+        List<Long> notFound = distinctIds.stream()
+                .filter(id -> !byId.containsKey(id))
+                .collect(Collectors.toList());
+        if (!notFound.isEmpty()) {
+            archiveService.getArchivedMeetingsByIds(notFound)
+                    .forEach(archived -> byId.put(archived.getId(), archived));
+        }
+        return distinctIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<User> getParticipants(Long meetingId, int page, int size) {
+        if (!meetingRepository.existsById(meetingId)) {
+            throw new ResourceNotFoundException("Meeting with id " + meetingId + " not found");
+        }
+        if (page < 0 || size <= 0 || size > MAX_PARTICIPANT_PAGE_SIZE) {
+            throw new InvalidRequestException("Page must be at least 0 and size between 1 and " + MAX_PARTICIPANT_PAGE_SIZE);
+        }
+        return meetingRepository.findParticipants(meetingId, PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
     public List<Meeting> getAllMeetings() {
-        return meetingRepository.findAll();
+        return getAllMeetings(FieldSelection.ALL);
     }
 
-    public List<Meeting> getMeetingsByOrganizer(Long organizerId) {
+    @Transactional(readOnly = true)
+    public List<Meeting> getAllMeetings(FieldSelection fields) {
+        if (needsFullRows(fields)) {
+            return meetingRepository.findAll();
+        }
+        return toSummaries(meetingRepository.findAllSummaries());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Meeting> getMeetingsByOrganizer(Long organizerId, LocalDateTime from, LocalDateTime to) {
+        return getMeetingsByOrganizer(organizerId, from, to, FieldSelection.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Meeting> getMeetingsByOrganizer(Long organizerId, LocalDateTime from, LocalDateTime to,
+                                                FieldSelection fields) {
         if (!userRepository.existsById(organizerId)) {
             throw new ResourceNotFoundException("User with id " + organizerId + " not found");
         }
-        return meetingRepository.findByOrganizerId(organizerId);
+        validateWindow(from, to);
+        LocalDateTime windowStart = from != null ? from : EARLIEST;
+        LocalDateTime windowEnd = to != null ? to : LATEST;
+
+        List<Meeting> meetings = new ArrayList<>();
+        if (archiveService.reachesIntoArchive(from)) {
+            meetings.addAll(archiveService.getArchivedMeetingsByOrganizer(organizerId, windowStart, windowEnd));
+        }
+        if (!needsFullRows(fields)) {
+            meetings.addAll(toSummaries(
+                    meetingRepository.findSummariesByOrganizerIdInWindow(organizerId, windowStart, windowEnd)));
+        } else if (from == null && to == null) {
+            meetings.addAll(meetingRepository.findByOrganizerId(organizerId));
+        } else {
+            meetings.addAll(meetingRepository.findByOrganizerIdInWindow(organizerId, windowStart, windowEnd));
+        }
+        return meetings;
     }
 
+    @Transactional(readOnly = true)
     public List<Meeting> getMeetingsByParticipant(Long participantId) {
         if (!userRepository.existsById(participantId)) {
             throw new ResourceNotFoundException("User with id " + participantId + " not found");
@@ -111,75 +259,308 @@ public class MeetingService {
         return meetingRepository.findByParticipantsId(participantId);
     }
     
-    public List<Meeting> getMeetingsByUser(Long userId) {
+    @Transactional(readOnly = true)
+    public List<Meeting> getMeetingsByUser(Long userId, LocalDateTime from, LocalDateTime to) {
+        return getMeetingsByUser(userId, from, to, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Meeting> getMeetingsByUser(Long userId, LocalDateTime from, LocalDateTime to,
+                                           Integer page, Integer size) {
+        return getMeetingsByUser(userId, from, to, page, size, FieldSelection.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Meeting> getMeetingsByUser(Long userId, LocalDateTime from, LocalDateTime to,
+                                           Integer page, Integer size, FieldSelection fields) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User with id " + userId + " not found");
         }
-        // Get meetings where user is organizer or participant
-        List<Meeting> organizerMeetings = meetingRepository.findByOrganizerId(userId);
-        List<Meeting> participantMeetings = meetingRepository.findByParticipantsId(userId);
+        validateWindow(from, to);
+        LocalDateTime windowStart = from != null ? from : EARLIEST;
+        LocalDateTime windowEnd = to != null ? to : LATEST;
+        
+        int limit = Integer.MAX_VALUE;
+        long offset = 0;
+        if (page != null || size != null) {
+            int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+            int pageNumber = page != null ? page : 0;
+            if (pageNumber < 0 || pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+                throw new InvalidRequestException("Page must be at least 0 and size between 1 and " + MAX_PAGE_SIZE);
+            }
+            limit = pageSize;
+            offset = (long) pageNumber * pageSize;
+        }
         
-        // Combine and remove duplicates
-        List<Meeting> allMeetings = new ArrayList<>(organizerMeetings);
-        for (Meeting meeting : participantMeetings) {
-            if (!allMeetings.contains(meeting)) {
-                allMeetings.add(meeting);
+        // Archived meetings all end before the hot ones start, so they form the head of the list
+        List<Meeting> meetings = new ArrayList<>();
+        if (archiveService.reachesIntoArchive(from)) {
+            List<Meeting> archived = archiveService.getArchivedMeetingsByUser(userId, windowStart, windowEnd,
+                    limit, offset);
+            meetings.addAll(archived);
+            if (archived.size() == limit) {
+                return meetings;
             }
+            // Past the end of the archive: the rest of the page starts at the head of the hot meetings,
+            // or further in when the whole page lies beyond the archive
+            long skippedHot = archived.isEmpty() && offset > 0
+                    ? Math.max(0, offset - archiveService.countArchivedMeetingsByUser(userId, windowStart, windowEnd))
+                    : 0;
+            limit -= archived.size();
+            offset = skippedHot;
         }
-        return allMeetings;
+        if (limit > 0 && !needsFullRows(fields)) {
+            meetings.addAll(toSummaries(
+                    meetingRepository.findSummariesByUserInWindow(userId, windowStart, windowEnd, limit, offset)));
+        } else if (limit > 0) {
+            meetings.addAll(meetingRepository.findByUserInWindow(userId, windowStart, windowEnd, limit, offset));
+        }
+        return meetings;
     }
 
-    @Transactional
+    // The description is the widest column and participants need the join table
+    private static boolean needsFullRows(FieldSelection fields) {
+        return fields.includes("description") || fields.includes("participants");
+    }
+
+    // The organizer is a lazy reference, loaded only if it is mapped
+    private List<Meeting> toSummaries(List<Object[]> rows) {
+        List<Meeting> meetings = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            meetings.add(Meeting.builder()
+                    .id(((Number) row[0]).longValue())
+                    .title((String) row[1])
+                    .startTime(toLocalDateTime(row[2]))
+                    .endTime(toLocalDateTime(row[3]))
+                    .organizer(userRepository.getReferenceById(((Number) row[4]).longValue()))
+                    .participantCount(((Number) row[5]).intValue())
+                    .build());
+        }
+        return meetings;
+    }
+
+    private void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("Window start must be before window end");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Meeting> searchMeetings(String query, LocalDateTime from, LocalDateTime to, Long userId, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        List<Long> rankedIds = searchIndex.search(query, from, to, userId, limit);
+        // Meetings deleted or archived since the search are left out
+        Map<Long, Meeting> meetingsById = meetingRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Meeting::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(meetingsById::get)
+                .filter(meeting -> meeting != null)
+                .collect(Collectors.toList());
+    }
+
+    public int rebuildSearchIndex() {
+        return searchIndex.rebuild();
+    }
+
+    // Only the part of the new slot the old one did not cover is checked for conflicts
     public Meeting updateMeeting(Long id, Meeting meeting) {
-        Meeting existingMeeting = getMeetingById(id);
-        
         if (meeting.getStartTime().isAfter(meeting.getEndTime())) {
             throw new InvalidRequestException("Start time must be before end time");
         }
         
+        Set<Long> attendeeIds = new TreeSet<>(meetingRepository.findParticipantIds(id));
+        attendeeIds.add(getMeetingById(id).getOrganizer().getId());
+        while (true) {
+            Set<Long> lockedIds = attendeeIds;
+            Set<Long> currentIds = new TreeSet<>();
+            Meeting updated = bookingLocks.withUserLocks(lockedIds,
+                    () -> transactionTemplate.execute(status -> doUpdateMeeting(id, meeting, lockedIds, currentIds)));
+            if (updated != null) {
+                return updated;
+            }
+            attendeeIds = new TreeSet<>(lockedIds);
+            attendeeIds.addAll(currentIds);
+        }
+    }
+
+    // Returns null, leaving the attendees in currentIds, when they are not all locked
+    private Meeting doUpdateMeeting(Long id, Meeting meeting, Set<Long> lockedIds, Set<Long> currentIds) {
+        if (meetingRepository.lockMeetingRow(id).isEmpty()) {
+            throw new ResourceNotFoundException("Meeting with id " + id + " not found");
+        }
+        Meeting existingMeeting = getMeetingById(id);
+        Set<Long> participantIds = Set.copyOf(meetingRepository.findParticipantIds(id));
+        currentIds.addAll(participantIds);
+        currentIds.add(existingMeeting.getOrganizer().getId());
+        if (!lockedIds.containsAll(currentIds)) {
+            return null;
+        }
+        Set<Long> attendeeIds = currentIds;
+        MeetingSnapshot before = MeetingSnapshot.of(existingMeeting, participantIds);
+        LocalDateTime oldStart = existingMeeting.getStartTime();
+        LocalDateTime oldEnd = existingMeeting.getEndTime();
+        LocalDateTime newStart = meeting.getStartTime();
+        LocalDateTime newEnd = meeting.getEndTime();
+        boolean rescheduled = !oldStart.equals(newStart) || !oldEnd.equals(newEnd);
+        
+        if (rescheduled) {
+            for (List<Long> chunk : BatchIds.chunks(attendeeIds, participantChunkSize)) {
+                userRepository.lockUserRows(chunk);
+            }
+            // The old slot was conflict-free when booked, so only the newly covered parts need checking
+            Long organizerId = existingMeeting.getOrganizer().getId();
+            if (newStart.isBefore(oldStart)) {
+                checkAttendeeConflicts(id, organizerId, newStart, min(newEnd, oldStart));
+            }
+            if (newEnd.isAfter(oldEnd)) {
+                checkAttendeeConflicts(id, organizerId, max(newStart, oldEnd), newEnd);
+            }
+        }
+        
         existingMeeting.setTitle(meeting.getTitle());
         existingMeeting.setDescription(meeting.getDescription());
-        existingMeeting.setStartTime(meeting.getStartTime());
-        existingMeeting.setEndTime(meeting.getEndTime());
+        existingMeeting.setStartTime(newStart);
+        existingMeeting.setEndTime(newEnd);
         
-        return meetingRepository.save(existingMeeting);
+        Meeting savedMeeting = meetingRepository.save(existingMeeting);
+        if (rescheduled) {
+            agendaService.rescheduleAgendasFromMeeting(savedMeeting);
+        }
+        publish(MeetingChangedEvent.Type.UPDATED, before, MeetingSnapshot.of(savedMeeting, participantIds));
+        return savedMeeting;
+    }
+
+    private void checkAttendeeConflicts(Long meetingId, Long organizerId, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            return;
+        }
+        List<Object[]> conflicts = meetingRepository.findAttendeeConflicts(meetingId, start, end);
+        if (!conflicts.isEmpty()) {
+            Object[] conflict = conflicts.get(0);
+            rejectConflict(((Number) conflict[0]).longValue(), organizerId,
+                    toLocalDateTime(conflict[1]), toLocalDateTime(conflict[2]));
+        }
     }
 
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    // Participant rows and agendas are left to DeletionPurgeService
     @Transactional
     public void deleteMeeting(Long id) {
         Meeting meeting = getMeetingById(id);
-        meetingRepository.delete(meeting);
+        MeetingSnapshot before = MeetingSnapshot.of(meeting, Set.copyOf(meetingRepository.findParticipantIds(id)));
+        if (meetingRepository.softDelete(id, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Meeting with id " + id + " not found");
+        }
+        publish(MeetingChangedEvent.Type.DELETED, before, null);
     }
 
-    @Transactional
     public Meeting addParticipant(Long meetingId, Long userId) {
+        return addParticipants(meetingId, List.of(userId));
+    }
+
+    // Never loads the participant list, so the cost does not depend on the meeting's size
+    public Meeting addParticipants(Long meetingId, Collection<Long> userIds) {
+        Set<Long> ids = new TreeSet<>(BatchIds.distinct(userIds, maxParticipants));
+        return bookingLocks.withUserLocks(ids,
+                () -> transactionTemplate.execute(status -> doAddParticipants(meetingId, ids)));
+    }
+
+    private Meeting doAddParticipants(Long meetingId, Set<Long> userIds) {
+        if (meetingRepository.lockMeetingRow(meetingId).isEmpty()) {
+            throw new ResourceNotFoundException("Meeting with id " + meetingId + " not found");
+        }
         Meeting meeting = getMeetingById(meetingId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User with id " + userId + " not found"));
+        List<List<Long>> chunks = BatchIds.chunks(userIds, participantChunkSize);
+        Set<Long> existingIds = new HashSet<>();
+        Set<Long> newIds = new TreeSet<>(userIds);
+        for (List<Long> chunk : chunks) {
+            existingIds.addAll(userRepository.lockUserRows(chunk));
+            newIds.removeAll(meetingRepository.findParticipantIdsAmong(meetingId, chunk));
+        }
+        for (Long userId : userIds) {
+            if (!existingIds.contains(userId)) {
+                throw new ResourceNotFoundException("User with id " + userId + " not found");
+            }
+        }
+        if (newIds.isEmpty()) {
+            return meeting;
+        }
         
-        if (meeting.getParticipants() == null) {
-            meeting.setParticipants(new ArrayList<>());
+        if (meetingRepository.addToParticipantCount(meetingId, newIds.size(), maxParticipants) == 0) {
+            throw new InvalidRequestException("A meeting can have at most " + maxParticipants + " participants");
         }
         
-        if (!meeting.getParticipants().contains(user)) {
-            meeting.getParticipants().add(user);
-            return meetingRepository.save(meeting);
+        Long organizerId = meeting.getOrganizer().getId();
+        List<List<Long>> newChunks = BatchIds.chunks(newIds, participantChunkSize);
+        for (List<Long> chunk : newChunks) {
+            checkConflicts(chunk, organizerId, meeting.getStartTime(), meeting.getEndTime(), meetingId);
         }
         
+        for (List<Long> chunk : newChunks) {
+            meetingRepository.insertParticipants(meetingId, chunk);
+            List<Long> withoutOrganizer = chunk.stream()
+                    .filter(userId -> !userId.equals(organizerId))
+                    .collect(Collectors.toList());
+            if (!withoutOrganizer.isEmpty()) {
+                agendaService.createAgendasFromMeeting(withoutOrganizer, meeting);
+            }
+        }
+        entityManager.refresh(meeting);
+        
+        MeetingSnapshot snapshot = MeetingSnapshot.withoutParticipants(meeting);
+        eventPublisher.publishEvent(new MeetingChangedEvent(MeetingChangedEvent.Type.PARTICIPANT_ADDED,
+                meetingId, snapshot, snapshot, Set.copyOf(newIds)));
         return meeting;
     }
 
     @Transactional
     public Meeting removeParticipant(Long meetingId, Long userId) {
         Meeting meeting = getMeetingById(meetingId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User with id " + userId + " not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User with id " + userId + " not found");
+        }
         
-        if (meeting.getParticipants() != null) {
-            meeting.getParticipants().remove(user);
-            return meetingRepository.save(meeting);
+        if (meetingRepository.deleteParticipant(meetingId, userId) > 0) {
+            if (!userId.equals(meeting.getOrganizer().getId())) {
+                agendaService.deleteAgendaFromMeeting(userId, meetingId);
+            }
+            meetingRepository.adjustParticipantCount(meetingId, -1);
+            entityManager.refresh(meeting);
+            MeetingSnapshot snapshot = MeetingSnapshot.withoutParticipants(meeting);
+            eventPublisher.publishEvent(new MeetingChangedEvent(MeetingChangedEvent.Type.PARTICIPANT_REMOVED,
+                    meetingId, snapshot, snapshot, Set.of(userId)));
         }
         
         return meeting;
     }
+
+    private void publish(MeetingChangedEvent.Type type, MeetingSnapshot before, MeetingSnapshot after) {
+        Set<Long> affectedUserIds = new HashSet<>();
+        if (before != null) {
+            affectedUserIds.add(before.getOrganizerId());
+            affectedUserIds.addAll(before.getParticipantIds());
+        }
+        if (after != null) {
+            affectedUserIds.add(after.getOrganizerId());
+            affectedUserIds.addAll(after.getParticipantIds());
+        }
+        Long meetingId = after != null ? after.getId() : before.getId();
+        eventPublisher.publishEvent(new MeetingChangedEvent(type, meetingId, before, after, affectedUserIds));
+    }
 }
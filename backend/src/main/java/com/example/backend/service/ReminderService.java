@@ -0,0 +1,218 @@
+package com.example.backend.service;
+
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import com.example.backend.repository.MeetingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sends meeting reminders from a {@link TimingWheel} loaded a window at a time up to a
+ * sliding horizon. Each reminder is checked against the current row before it is sent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderService {
+
+    private final MeetingRepository meetingRepository;
+    private final ReminderSink reminderSink;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reminders.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.reminders.offsets-minutes:15}")
+    private List<Integer> offsetsMinutes;
+
+    @Value("${app.reminders.horizon-hours:24}")
+    private int horizonHours;
+
+    @Value("${app.reminders.load-step-minutes:5}")
+    private int loadStepMinutes;
+
+    @Value("${app.reminders.load-steps-per-tick:12}")
+    private int loadStepsPerTick;
+
+    @Value("${app.reminders.batch-size:500}")
+    private int batchSize;
+
+    // Not the shared scheduling pool, so long-running jobs there cannot delay reminders
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reminder-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private TimingWheel<Pending> wheel;
+    private LocalDateTime loadedUntil;
+    private boolean loading;
+    private final Set<Long> changedWhileLoading = new HashSet<>();
+
+    private record Pending(Long meetingId, LocalDateTime startTime, int offsetMinutes) {
+    }
+
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+        loadedUntil = LocalDateTime.now();
+        Gauge.builder("reminders.scheduled", this, ReminderService::scheduledReminders).register(meterRegistry);
+        if (enabled) {
+            ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    synchronized int scheduledReminders() {
+        return wheel.size();
+    }
+
+    void tick() {
+        try {
+            extendHorizon();
+            List<Pending> due;
+            synchronized (this) {
+                due = wheel.advanceTo(System.currentTimeMillis());
+            }
+            for (int from = 0; from < due.size(); from += batchSize) {
+                deliver(due.subList(from, Math.min(due.size(), from + batchSize)));
+            }
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel all further ticks
+            log.error("Reminder tick failed", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        if (event.getType() != MeetingChangedEvent.Type.CREATED
+                && event.getType() != MeetingChangedEvent.Type.UPDATED
+                && event.getType() != MeetingChangedEvent.Type.DELETED) {
+            return;
+        }
+        MeetingSnapshot after = event.getAfter();
+        synchronized (this) {
+            // A load running now may have read this meeting before the change; its row must not win
+            if (loading) {
+                changedWhileLoading.add(event.getMeetingId());
+            }
+            wheel.cancel(event.getMeetingId());
+            if (after != null && after.getStartTime().isBefore(LocalDateTime.now().plusHours(horizonHours))) {
+                schedule(after.getId(), after.getStartTime());
+            }
+        }
+    }
+
+    private void extendHorizon() {
+        LocalDateTime horizon = LocalDateTime.now().plusHours(horizonHours);
+        for (int step = 0; step < loadStepsPerTick; step++) {
+            LocalDateTime from;
+            synchronized (this) {
+                if (!loadedUntil.isBefore(horizon)) {
+                    return;
+                }
+                from = loadedUntil;
+                loading = true;
+            }
+            LocalDateTime to = from.plusMinutes(loadStepMinutes).isBefore(horizon) ? from.plusMinutes(loadStepMinutes) : horizon;
+            try {
+                List<Object[]> rows = meetingRepository.findStartTimesBetween(from, to);
+                synchronized (this) {
+                    for (Object[] row : rows) {
+                        Long meetingId = ((Number) row[0]).longValue();
+                        if (!changedWhileLoading.contains(meetingId)) {
+                            wheel.cancel(meetingId);
+                            schedule(meetingId, toLocalDateTime(row[1]));
+                        }
+                    }
+                    loadedUntil = to;
+                }
+            } finally {
+                synchronized (this) {
+                    loading = false;
+                    changedWhileLoading.clear();
+                }
+            }
+        }
+    }
+
+    // Called with the monitor held
+    private void schedule(Long meetingId, LocalDateTime startTime) {
+        if (!startTime.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        for (int offset : offsetsMinutes) {
+            wheel.schedule(meetingId, toEpochMillis(startTime.minusMinutes(offset)),
+                    new Pending(meetingId, startTime, offset));
+        }
+    }
+
+    private void deliver(List<Pending> batch) {
+        try {
+            Set<Long> meetingIds = batch.stream().map(Pending::meetingId).collect(Collectors.toSet());
+            Map<Long, Object[]> meetings = new HashMap<>();
+            for (Object[] row : meetingRepository.findReminderDetails(meetingIds)) {
+                meetings.put(((Number) row[0]).longValue(), row);
+            }
+            Map<Long, Set<Long>> recipients = new HashMap<>();
+            List<ReminderSink.Reminder> reminders = new ArrayList<>();
+            for (Pending pending : batch) {
+                Object[] meeting = meetings.get(pending.meetingId());
+                // Deleted or moved since the reminder was scheduled
+                if (meeting == null || !toLocalDateTime(meeting[2]).equals(pending.startTime())) {
+                    continue;
+                }
+                Set<Long> recipientIds = recipients.computeIfAbsent(pending.meetingId(), meetingId -> {
+                    Set<Long> ids = new LinkedHashSet<>();
+                    ids.add(((Number) meeting[3]).longValue());
+                    ids.addAll(meetingRepository.findParticipantIds(meetingId));
+                    return ids;
+                });
+                reminders.add(new ReminderSink.Reminder(pending.meetingId(), (String) meeting[1],
+                        pending.startTime(), pending.offsetMinutes(), recipientIds));
+            }
+            if (!reminders.isEmpty()) {
+                reminderSink.deliver(reminders);
+                meterRegistry.counter("reminders.delivered").increment(reminders.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver {} reminders", batch.size(), e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+// Implementations should hand off slow delivery rather than block the tick
+public interface ReminderSink {
+
+    void deliver(List<Reminder> reminders);
+
+    record Reminder(Long meetingId, String title, LocalDateTime startTime, int offsetMinutes,
+                    Set<Long> recipientIds) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AgendaChangedEvent;
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user schedule versions, bumped after the writing transaction commits. The epoch
+ * changes on every restart.
+ */
+@Component
+public class ScheduleVersionTracker {
+
+    private final long epoch = System.currentTimeMillis();
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> changedAtNanos = new ConcurrentHashMap<>();
+
+    // How long a replica may lag behind a commit, as assumed by ReadYourWritesFilter
+    @Value("${app.datasource.replica.read-your-writes-ms:5000}")
+    private long replicaLagMillis;
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long currentVersion(Long userId) {
+        AtomicLong version = versions.get(userId);
+        return version != null ? version.get() : 0L;
+    }
+
+    // A load cached under the current version must come from the primary while this holds
+    public boolean changedRecently(Long userId) {
+        Long changedAt = changedAtNanos.get(userId);
+        return changedAt != null && System.nanoTime() - changedAt < replicaLagMillis * 1_000_000L;
+    }
+
+    public void bump(Collection<Long> userIds) {
+        long now = System.nanoTime();
+        for (Long userId : userIds) {
+            if (userId != null) {
+                changedAtNanos.put(userId, now);
+                versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        bump(event.getAffectedUserIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgendaChanged(AgendaChangedEvent event) {
+        bump(List.of(event.getUserId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() != UserChangedEvent.Type.CREATED) {
+            bump(event.getAffectedUserIds());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ReplicaRoutingContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads of a user's schedule into one computation, keyed by
+ * the schedule version. Shared results must not be modified.
+ */
+@Service
+@RequiredArgsConstructor
+public class SingleFlightService {
+
+    private final ScheduleVersionTracker versionTracker;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.single-flight.cache-ttl-ms:1000}")
+    private long cacheTtlMillis;
+
+    @Value("${app.single-flight.cache-size:1000}")
+    private int cacheSize;
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private Map<Key, Cached> cache;
+
+    private record Key(String name, Long userId, long version, List<Object> arguments) {
+    }
+
+    private record Cached(Object value, long expiresAtNanos) {
+    }
+
+    @PostConstruct
+    void initCache() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Cached> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Long userId, List<Object> arguments, Supplier<T> loader) {
+        Key key = new Key(name, userId, versionTracker.currentVersion(userId), arguments);
+        if (cacheTtlMillis > 0) {
+            Cached cached = cache.get(key);
+            if (cached != null && cached.expiresAtNanos() - System.nanoTime() > 0) {
+                count(name, "cached");
+                return (T) cached.value();
+            }
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            count(name, "coalesced");
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        count(name, "leader");
+        try {
+            // The version is bumped once the primary commits; replicas may not have the change yet
+            T value = ReplicaRoutingContext.read(transactionManager, versionTracker.changedRecently(userId), loader);
+            if (cacheTtlMillis > 0) {
+                cache.put(key, new Cached(value, System.nanoTime() + cacheTtlMillis * 1_000_000L));
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // coalescing ratio = (coalesced + cached) / all requests of a read
+    private void count(String name, String outcome) {
+        meterRegistry.counter("singleflight.requests", "read", name, "outcome", outcome).increment();
+    }
+}
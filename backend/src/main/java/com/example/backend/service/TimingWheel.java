@@ -0,0 +1,130 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel with four levels of 64 slots plus an overflow list. Timers are
+ * grouped by key for cancelling. Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Timer<T>>> slots = new ArrayList<>(LEVELS * WHEEL_SIZE);
+    private final List<Timer<T>> overflow = new ArrayList<>();
+    private final Map<Long, List<Timer<T>>> timersByKey = new HashMap<>();
+    private long currentTick;
+    private int size;
+
+    private static final class Timer<T> {
+        private final long key;
+        private final long deadlineTick;
+        private final T payload;
+        private boolean cancelled;
+
+        private Timer(long key, long deadlineTick, T payload) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+    }
+
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int i = 0; i < LEVELS * WHEEL_SIZE; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // A deadline that has already passed fires on the next advance
+    void schedule(long key, long deadlineMillis, T payload) {
+        Timer<T> timer = new Timer<>(key, Math.max(deadlineMillis / tickMillis, currentTick + 1), payload);
+        timersByKey.computeIfAbsent(key, k -> new ArrayList<>(2)).add(timer);
+        place(timer);
+        size++;
+    }
+
+    void cancel(long key) {
+        List<Timer<T>> timers = timersByKey.remove(key);
+        if (timers != null) {
+            timers.forEach(timer -> timer.cancelled = true);
+            size -= timers.size();
+        }
+    }
+
+    List<T> advanceTo(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first, so timers cascading down can still land in this tick's slot
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    if (level == LEVELS - 1) {
+                        cascade(overflow);
+                    }
+                    cascade(slot(level, (int) (currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK));
+                }
+            }
+            List<Timer<T>> expiring = slot(0, (int) currentTick & WHEEL_MASK);
+            for (Timer<T> timer : expiring) {
+                if (!timer.cancelled) {
+                    due.add(timer.payload);
+                    detach(timer);
+                }
+            }
+            expiring.clear();
+        }
+        return due;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (WHEEL_BITS * (level + 1))) {
+                slot(level, (int) (timer.deadlineTick >>> (WHEEL_BITS * level)) & WHEEL_MASK).add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    private void cascade(List<Timer<T>> timers) {
+        if (timers.isEmpty()) {
+            return;
+        }
+        List<Timer<T>> pending = new ArrayList<>(timers);
+        timers.clear();
+        for (Timer<T> timer : pending) {
+            if (!timer.cancelled) {
+                place(timer);
+            }
+        }
+    }
+
+    private void detach(Timer<T> timer) {
+        List<Timer<T>> timers = timersByKey.get(timer.key);
+        if (timers != null && timers.remove(timer)) {
+            size--;
+            if (timers.isEmpty()) {
+                timersByKey.remove(timer.key);
+            }
+        }
+    }
+
+    private List<Timer<T>> slot(int level, int index) {
+        return slots.get(level * WHEEL_SIZE + index);
+    }
+}
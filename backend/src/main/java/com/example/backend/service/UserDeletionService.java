@@ -0,0 +1,259 @@
+package com.example.backend.service;
+
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.UserChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.AgendaRepository;
+import com.example.backend.repository.MeetingRepository;
+import com.example.backend.repository.UserBusyDayRepository;
+import com.example.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes users in two steps: {@link #softDeleteUser} marks the user and their meetings; the
+ * purge then removes the rows chunk by chunk and announces each meeting as it goes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDeletionService {
+
+    private static final long FINISHED_JOB_RETENTION_MINUTES = 60;
+
+    private final UserRepository userRepository;
+    private final MeetingRepository meetingRepository;
+    private final AgendaRepository agendaRepository;
+    private final UserBusyDayRepository busyDayRepository;
+    private final MeetingArchiveService archiveService;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.user-deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    private final Map<String, DeletionJob> jobs = new ConcurrentHashMap<>();
+    private final Set<Long> purging = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public enum JobStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Getter
+    public static class DeletionJob {
+        private final String id = UUID.randomUUID().toString();
+        private final Long userId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong rowsDeleted = new AtomicLong();
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        DeletionJob(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    // One event for the user; their meetings are announced by the purge, which is seconds behind
+    public void softDeleteUser(Long userId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            LocalDateTime deletedAt = LocalDateTime.now();
+            if (userRepository.softDelete(userId, deletedAt) == 0) {
+                throw new ResourceNotFoundException("User with id " + userId + " not found");
+            }
+            // Marking the user first keeps meetings from being booked for them in the meantime
+            meetingRepository.softDeleteOrganizedBy(userId, deletedAt);
+            eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, userId));
+        });
+    }
+
+    // Returns 0 when the user is already being purged elsewhere
+    public long purgeUser(Long userId) {
+        DeletionJob job = new DeletionJob(userId);
+        execute(job);
+        return job.getRowsDeleted().get();
+    }
+
+    public DeletionJob startUserDeletion(Long userId) {
+        softDeleteUser(userId);
+        pruneFinishedJobs();
+        DeletionJob job = new DeletionJob(userId);
+        jobs.put(job.getId(), job);
+        executor.submit(() -> {
+            try {
+                execute(job);
+            } catch (RuntimeException e) {
+                log.error("Background deletion of user {} failed after {} rows", userId, job.getRowsDeleted().get(), e);
+            }
+        });
+        return job;
+    }
+
+    public DeletionJob getJob(String jobId) {
+        DeletionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Deletion job with id " + jobId + " not found");
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void execute(DeletionJob job) {
+        Long userId = job.getUserId();
+        if (!purging.add(userId)) {
+            job.status = JobStatus.COMPLETED;
+            job.finishedAt = LocalDateTime.now();
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status -> archiveService.deleteArchivedDataOfUser(userId));
+
+            // Meetings organized by the user, with their agendas and participant rows
+            while (true) {
+                Integer deleted = transaction.execute(status -> deleteOrganizedMeetingChunk(userId));
+                if (deleted == null || deleted == 0) {
+                    break;
+                }
+                job.getRowsDeleted().addAndGet(deleted);
+            }
+
+            drain(job, transaction, () -> deleteParticipationChunk(userId));
+            drain(job, transaction, () -> agendaRepository.deleteByUserIdLimited(userId, chunkSize));
+
+            Integer deletedUsers = transaction.execute(status -> {
+                busyDayRepository.deleteByUserId(userId);
+                return userRepository.deleteUserRow(userId);
+            });
+            job.getRowsDeleted().addAndGet(deletedUsers != null ? deletedUsers : 0);
+
+            job.status = JobStatus.COMPLETED;
+            log.info("Deleted user {} and {} related rows", userId, job.getRowsDeleted().get());
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = JobStatus.FAILED;
+            throw e;
+        } finally {
+            purging.remove(userId);
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private void drain(DeletionJob job, TransactionTemplate transaction, IntSupplier chunk) {
+        while (true) {
+            Integer deleted = transaction.execute(status -> chunk.getAsInt());
+            if (deleted == null || deleted == 0) {
+                return;
+            }
+            job.getRowsDeleted().addAndGet(deleted);
+        }
+    }
+
+    private int deleteParticipationChunk(Long userId) {
+        List<Long> meetingIds = meetingRepository.findParticipationMeetingIds(userId, chunkSize);
+        if (meetingIds.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> meetings = meetingRepository.findMeetingRows(meetingIds);
+        meetingRepository.decrementParticipantCounts(meetingIds);
+        int deleted = meetingRepository.deleteParticipationsOfUser(userId, meetingIds);
+        for (Object[] row : meetings) {
+            MeetingSnapshot snapshot = toSnapshot(row, null);
+            eventPublisher.publishEvent(new MeetingChangedEvent(MeetingChangedEvent.Type.PARTICIPANT_REMOVED,
+                    snapshot.getId(), snapshot, snapshot, Set.of(userId)));
+        }
+        return deleted;
+    }
+
+    private int deleteOrganizedMeetingChunk(Long userId) {
+        List<Long> meetingIds = meetingRepository.findOrganizedMeetingIds(userId, chunkSize);
+        if (meetingIds.isEmpty()) {
+            return 0;
+        }
+        // Meetings deleted before their organizer were announced then
+        publishDeletions(userId, meetingRepository.findMeetingRowsDeletedWithOrganizer(meetingIds));
+        int deleted = agendaRepository.deleteByMeetingIds(meetingIds);
+        deleted += meetingRepository.deleteParticipantsOfMeetings(meetingIds);
+        deleted += meetingRepository.deleteMeetingsByIds(meetingIds);
+        return deleted;
+    }
+
+    private void publishDeletions(Long userId, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<Long> meetingIds = new HashSet<>();
+        for (Object[] row : rows) {
+            meetingIds.add(((Number) row[0]).longValue());
+        }
+        Map<Long, Set<Long>> participants = new HashMap<>();
+        for (Object[] pair : meetingRepository.findParticipantPairs(meetingIds)) {
+            participants.computeIfAbsent(((Number) pair[0]).longValue(), id -> new HashSet<>())
+                    .add(((Number) pair[1]).longValue());
+        }
+        for (Object[] row : rows) {
+            Long meetingId = ((Number) row[0]).longValue();
+            Set<Long> participantIds = participants.getOrDefault(meetingId, Set.of());
+            Set<Long> affectedUserIds = new HashSet<>(participantIds);
+            affectedUserIds.add(userId);
+            eventPublisher.publishEvent(new MeetingChangedEvent(MeetingChangedEvent.Type.DELETED, meetingId,
+                    toSnapshot(row, participantIds), null, affectedUserIds));
+        }
+    }
+
+    // Rows as [id, title, description, start_time, end_time, organizer_id]
+    private static MeetingSnapshot toSnapshot(Object[] row, Set<Long> participantIds) {
+        return MeetingSnapshot.builder()
+                .id(((Number) row[0]).longValue())
+                .title((String) row[1])
+                .description((String) row[2])
+                .startTime(toLocalDateTime(row[3]))
+                .endTime(toLocalDateTime(row[4]))
+                .organizerId(((Number) row[5]).longValue())
+                .participantIds(participantIds)
+                .build();
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(FINISHED_JOB_RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(threshold));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.backend.service;
 
-import com.example.backend.entity.Agenda;
-import com.example.backend.entity.Meeting;
 import com.example.backend.entity.User;
+import com.example.backend.event.UserChangedEvent;
 import com.example.backend.exception.DuplicateResourceException;
 import com.example.backend.exception.ResourceNotFoundException;
-import com.example.backend.repository.AgendaRepository;
 import com.example.backend.repository.MeetingRepository;
 import com.example.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,30 +26,51 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final MeetingRepository meetingRepository;
-    private final AgendaRepository agendaRepository;
+    private final UserDeletionService userDeletionService;
+    private final CalendarFeedService calendarFeedService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.batch.max-ids:100}")
+    private int maxBatchIds;
 
     @Transactional
     public User createUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new DuplicateResourceException("User with email " + user.getEmail() + " already exists");
         }
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.CREATED, savedUser.getId()));
+        return savedUser;
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User with id " + id + " not found"));
     }
 
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User with email " + email + " not found"));
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<User> getUsersByIds(List<Long> ids) {
+        List<Long> distinctIds = BatchIds.distinct(ids, maxBatchIds);
+        Map<Long, User> byId = userRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return distinctIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     public User updateUser(Long id, User user) {
         User existingUser = getUserById(id);
@@ -53,6 +80,8 @@ public class UserService {
             throw new DuplicateResourceException("User with email " + user.getEmail() + " already exists");
         }
         
+        boolean renamed = !existingUser.getName().equals(user.getName())
+                || !existingUser.getEmail().equals(user.getEmail());
         existingUser.setName(user.getName());
         existingUser.setEmail(user.getEmail());
         existingUser.setRole(user.getRole());
@@ -62,29 +91,27 @@ public class UserService {
             existingUser.setPassword(user.getPassword());
         }
         
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        if (renamed) {
+            // Name and email appear in the calendar feeds of everyone attending their meetings;
+            // only meetings inside the feed window can show up there
+            Set<Long> affectedUserIds = new HashSet<>(meetingRepository.findParticipantIdsOfOrganizedMeetings(
+                    id, calendarFeedService.windowStart(), calendarFeedService.windowEnd()));
+            affectedUserIds.add(id);
+            eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.UPDATED, id, affectedUserIds));
+        }
+        return savedUser;
     }
 
-    @Transactional
     public void deleteUser(Long id) {
-        User user = getUserById(id);
-        
-        // Step 1: Remove user from all meetings where they are a participant
-        List<Meeting> participatingMeetings = meetingRepository.findByParticipantsId(id);
-        for (Meeting meeting : participatingMeetings) {
-            meeting.getParticipants().remove(user);
-            meetingRepository.save(meeting);
-        }
-        
-        // Step 2: Delete all agendas for this user
-        List<Agenda> userAgendas = agendaRepository.findByUserId(id);
-        agendaRepository.deleteAll(userAgendas);
-        
-        // Step 3: Delete all meetings organized by this user
-        List<Meeting> organizedMeetings = meetingRepository.findByOrganizerId(id);
-        meetingRepository.deleteAll(organizedMeetings);
-        
-        // Step 4: Finally delete the user
-        userRepository.delete(user);
+        userDeletionService.softDeleteUser(id);
+    }
+
+    public UserDeletionService.DeletionJob startUserDeletion(Long id) {
+        return userDeletionService.startUserDeletion(id);
+    }
+
+    public UserDeletionService.DeletionJob getDeletionJob(String jobId) {
+        return userDeletionService.getJob(jobId);
     }
 }
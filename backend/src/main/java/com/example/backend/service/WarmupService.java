@@ -0,0 +1,161 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import com.example.backend.mapper.AgendaMapper;
+import com.example.backend.mapper.MeetingMapper;
+import com.example.backend.mapper.UserMapper;
+import com.example.backend.repository.MeetingRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the search index and warms the calendar feeds, busy bitmaps and hot code paths of the
+ * most active users before the application reports ready, within {@code app.warmup.budget-ms}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupService implements ApplicationRunner {
+
+    private final MeetingRepository meetingRepository;
+    private final MeetingService meetingService;
+    private final AgendaService agendaService;
+    private final UserService userService;
+    private final CalendarFeedService calendarFeedService;
+    private final BusyBitmapService busyBitmapService;
+    private final MeetingSearchIndex searchIndex;
+    private final MeetingMapper meetingMapper;
+    private final AgendaMapper agendaMapper;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.days:7}")
+    private int days;
+
+    @Value("${app.warmup.max-users:200}")
+    private int maxUsers;
+
+    @Value("${app.warmup.jit-iterations:20}")
+    private int jitIterations;
+
+    @Value("${app.warmup.budget-ms:60000}")
+    private long budgetMillis;
+
+    private volatile boolean abandoned;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            searchIndex.rebuild();
+            return;
+        }
+        long startedAt = System.nanoTime();
+        CompletableFuture<Void> warmup = CompletableFuture.runAsync(this::warmUp, runnable -> {
+            Thread thread = new Thread(runnable, "startup-warmup");
+            thread.setDaemon(true);
+            thread.start();
+        });
+        String outcome = "completed";
+        try {
+            warmup.get(budgetMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandoned = true;
+            outcome = "budget-exhausted";
+        } catch (ExecutionException e) {
+            outcome = "failed";
+            log.warn("Warm-up failed; starting with cold caches", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        meterRegistry.timer("startup.warmup", "outcome", outcome).record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warm-up {} in {} ms", outcome, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void warmUp() {
+        searchIndex.rebuild();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        LocalDate today = LocalDate.now();
+        LocalDateTime from = today.atStartOfDay();
+        LocalDateTime to = today.plusDays(days).atStartOfDay();
+
+        List<Long> activeUserIds = meetingRepository.countMeetingsPerUser(from, to).stream()
+                .sorted(Comparator.comparing((Object[] row) -> ((Number) row[1]).longValue()).reversed())
+                .limit(maxUsers)
+                .map(row -> ((Number) row[0]).longValue())
+                .collect(Collectors.toList());
+
+        List<Object> payloads = new ArrayList<>();
+        readOnly.executeWithoutResult(status -> {
+            List<User> users = userService.getAllUsers();
+            payloads.add(userMapper.toResponseDTOList(users));
+        });
+        for (Long userId : activeUserIds) {
+            if (abandoned) {
+                return;
+            }
+            readOnly.executeWithoutResult(status -> {
+                payloads.add(meetingMapper.toResponseDTOList(meetingService.getMeetingsByUser(userId, from, to)));
+                payloads.add(agendaMapper.toResponseDTOList(
+                        agendaService.getAgendasByUser(userId, today, today.plusDays(days))));
+            });
+        }
+        // Feeds are cached for the default window, which is the only one clients can ask for
+        for (Long userId : activeUserIds) {
+            if (abandoned) {
+                return;
+            }
+            calendarFeedService.getFeed(userId);
+        }
+        // Free/busy is cached per requested range, which warm-up cannot guess; availability
+        // checks read the bitmaps, so those are filled over the whole horizon instead
+        busyBitmapService.backfillHorizon(activeUserIds);
+        for (int start = 0; start < activeUserIds.size() && !abandoned; start += 100) {
+            List<Long> chunk = activeUserIds.subList(start, Math.min(activeUserIds.size(), start + 100));
+            agendaService.findAvailableUsers(chunk, from.plusDays(1).withHour(10), from.plusDays(1).withHour(11));
+        }
+        log.info("Warm-up cached feeds and busy bitmaps of {} active users", activeUserIds.size());
+
+        for (int i = 0; i < jitIterations && !abandoned; i++) {
+            for (Object payload : payloads) {
+                serialize(payload);
+            }
+        }
+    }
+
+    private void serialize(Object payload) {
+        try {
+            objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTests {
+
+    @Test
+    void writesAndFollowingReadsOfTheSameClientArePinned() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(60_000);
+
+        assertThat(pinned(filter, "GET", "1", 200)).isFalse();
+        assertThat(pinned(filter, "POST", "1", 201)).isTrue();
+        assertThat(pinned(filter, "GET", "1", 200)).isTrue();
+        assertThat(pinned(filter, "GET", "2", 200)).isFalse();
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isFalse();
+    }
+
+    @Test
+    void failedWritesDoNotPin() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(60_000);
+
+        assertThat(pinned(filter, "PUT", "1", 400)).isTrue();
+        assertThat(pinned(filter, "GET", "1", 200)).isFalse();
+    }
+
+    @Test
+    void pinsExpireAfterTheWindow() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(20);
+
+        pinned(filter, "DELETE", "1", 204);
+        Thread.sleep(40);
+        assertThat(pinned(filter, "GET", "1", 200)).isFalse();
+        assertThat(filter.pinnedClients()).isZero();
+    }
+
+    @Test
+    void expiredPinsOfClientsThatNeverReadAgainAreSwept() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(20);
+
+        for (int i = 0; i < 100; i++) {
+            pinned(filter, "POST", "writer-" + i, 201);
+        }
+        Thread.sleep(40);
+        pinned(filter, "POST", "last", 201);
+
+        assertThat(filter.pinnedClients()).isEqualTo(1);
+    }
+
+    private static boolean pinned(ReadYourWritesFilter filter, String method, String userId, int status)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/meetings");
+        request.addHeader("X-User-Id", userId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean forced = new AtomicBoolean();
+        FilterChain chain = (req, res) -> {
+            forced.set(ReplicaRoutingContext.isPrimaryForced());
+            response.setStatus(status);
+        };
+        filter.doFilter(request, response, chain);
+        return forced.get();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    private JdbcDataSource primary;
+    private JdbcDataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        routing = newRouting(replica);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(currentDatabase(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        assertThat(currentDatabase(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedRequestsReadFromThePrimary() {
+        ReplicaRoutingContext.forcePrimary();
+        assertThat(currentDatabase(true)).isEqualTo("primary");
+
+        ReplicaRoutingContext.clear();
+        assertThat(currentDatabase(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readFromPrimaryRestoresThePreviousRouting() {
+        String database = ReplicaRoutingContext.readFromPrimary(transactionManager, this::queryDatabaseName);
+
+        assertThat(database).isEqualTo("primary");
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isFalse();
+        assertThat(currentDatabase(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readFromPrimaryInsideAReplicaTransactionStillReadsThePrimary() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        String[] databases = readOnly.execute(status -> new String[] {
+                queryDatabaseName(),
+                ReplicaRoutingContext.readFromPrimary(transactionManager, this::queryDatabaseName)
+        });
+
+        assertThat(databases).containsExactly("replica", "primary");
+    }
+
+    @Test
+    void unpinnedReadsInsideAPinnedRequestStayOnThePrimary() {
+        assertThat(ReplicaRoutingContext.read(transactionManager, false, this::queryDatabaseName)).isEqualTo("replica");
+
+        ReplicaRoutingContext.forcePrimary();
+        assertThat(ReplicaRoutingContext.read(transactionManager, false, this::queryDatabaseName)).isEqualTo("primary");
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isTrue();
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhileTheReplicaIsDown() {
+        JdbcDataSource unreachable = new JdbcDataSource();
+        unreachable.setURL("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        routing = newRouting(unreachable);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+
+        routing.checkReplicaHealth();
+        assertThat(currentDatabase(true)).isEqualTo("primary");
+
+        // Once the replica answers again, reads return to it
+        routing = newRouting(replica);
+        routing.checkReplicaHealth();
+        dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        assertThat(currentDatabase(true)).isEqualTo("replica");
+    }
+
+    private ReplicaRoutingDataSource newRouting(DataSource replicaDataSource) {
+        ReplicaRoutingDataSource dataSource =
+                new ReplicaRoutingDataSource(primary, replicaDataSource, new SimpleMeterRegistry());
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> queryDatabaseName());
+    }
+
+    private String queryDatabaseName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
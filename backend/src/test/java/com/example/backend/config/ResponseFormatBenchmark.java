@@ -0,0 +1,113 @@
+package com.example.backend.config;
+
+import com.example.backend.entity.Meeting;
+import com.example.backend.entity.Role;
+import com.example.backend.entity.User;
+import com.example.backend.mapper.MeetingMapper;
+import com.example.backend.mapper.UserMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and serialization time of a user's meeting list in each response format.
+ */
+@Tag("benchmark")
+class ResponseFormatBenchmark {
+
+    private static final int MEETINGS = 500 * Integer.getInteger("benchmark.scale", 1);
+    private static final int USERS = 300;
+    private static final int PARTICIPANTS = 12;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    void meetingListInEveryFormat() throws IOException {
+        List<Meeting> meetings = meetings();
+        MeetingMapper mapper = new MeetingMapper(new UserMapper());
+        ReflectionTestUtils.setField(mapper, "inlineParticipantsMax", 200);
+        Object inline = mapper.toResponseDTOList(meetings);
+        Object normalized = mapper.toNormalizedListDTO(meetings);
+
+        System.out.printf("%d meetings with %d participants each, drawn from %d users%n",
+                MEETINGS, PARTICIPANTS, USERS);
+        System.out.printf("%-22s %12s %12s %14s%n", "format", "bytes", "gzip bytes", "us/serialize");
+        report("json", objectMapper(null), inline);
+        report("json normalized", objectMapper(null), normalized);
+        report("smile", objectMapper(new SmileFactory()), inline);
+        report("smile normalized", objectMapper(new SmileFactory()), normalized);
+        report("cbor", objectMapper(new CBORFactory()), inline);
+        report("cbor normalized", objectMapper(new CBORFactory()), normalized);
+    }
+
+    private static void report(String format, ObjectMapper objectMapper, Object payload) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(payload);
+        for (int i = 0; i < ITERATIONS; i++) {
+            objectMapper.writeValueAsBytes(payload);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            objectMapper.writeValueAsBytes(payload);
+        }
+        long micros = (System.nanoTime() - started) / ITERATIONS / 1_000;
+        System.out.printf("%-22s %12d %12d %14d%n", format, bytes.length, gzip(bytes), micros);
+    }
+
+    // Configured like the application's mapper: every field unless a request narrows it
+    private static ObjectMapper objectMapper(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+        if (factory != null) {
+            builder.factory(factory);
+        }
+        return builder.build();
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    private static List<Meeting> meetings() {
+        Random random = new Random(1);
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(User.builder().id(id).name("User " + id).email("user" + id + "@example.com")
+                    .role(Role.USER).build());
+        }
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 9, 0);
+        List<Meeting> meetings = new ArrayList<>();
+        for (long id = 1; id <= MEETINGS; id++) {
+            Set<User> participants = new LinkedHashSet<>();
+            while (participants.size() < PARTICIPANTS) {
+                participants.add(users.get(random.nextInt(USERS)));
+            }
+            LocalDateTime meetingStart = start.plusMinutes(30L * id);
+            meetings.add(Meeting.builder().id(id).title("Planning session " + id)
+                    .description("Quarterly planning with the product and engineering leads")
+                    .startTime(meetingStart).endTime(meetingStart.plusHours(1))
+                    .organizer(users.get(random.nextInt(USERS))).participants(participants)
+                    .participantCount(PARTICIPANTS).build());
+        }
+        return meetings;
+    }
+}
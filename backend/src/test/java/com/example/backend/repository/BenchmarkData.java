@@ -0,0 +1,63 @@
+package com.example.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk inserts for the database benchmarks, written with plain JDBC batches.
+ */
+final class BenchmarkData {
+
+    private static final int BATCH = 5_000;
+
+    record MeetingRow(long id, long organizerId, LocalDateTime start, int minutes, long[] participantIds) {
+    }
+
+    private BenchmarkData() {
+    }
+
+    static long nextId(JdbcTemplate jdbc, String table) {
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    static void insertUsers(JdbcTemplate jdbc, long firstId, int count) {
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (long id = firstId; id < firstId + count; id++) {
+            rows.add(new Object[] {id, "User " + id, "user" + id + "@benchmark.invalid", "USER", "x"});
+            if (rows.size() == BATCH) {
+                jdbc.batchUpdate("INSERT INTO users (id, name, email, role, password) VALUES (?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO users (id, name, email, role, password) VALUES (?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    static void insertMeetings(JdbcTemplate jdbc, List<MeetingRow> meetings) {
+        List<Object[]> meetingRows = new ArrayList<>(BATCH);
+        List<Object[]> participantRows = new ArrayList<>(BATCH * 4);
+        for (MeetingRow meeting : meetings) {
+            meetingRows.add(new Object[] {meeting.id(), "Meeting " + meeting.id(), "Weekly sync",
+                    Timestamp.valueOf(meeting.start()), Timestamp.valueOf(meeting.start().plusMinutes(meeting.minutes())),
+                    meeting.organizerId(), meeting.participantIds().length});
+            for (long userId : meeting.participantIds()) {
+                participantRows.add(new Object[] {meeting.id(), userId});
+            }
+        }
+        for (int from = 0; from < meetingRows.size(); from += BATCH) {
+            jdbc.batchUpdate("INSERT INTO meetings (id, title, description, start_time, end_time, organizer_id, "
+                    + "participant_count) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    meetingRows.subList(from, Math.min(from + BATCH, meetingRows.size())));
+        }
+        for (int from = 0; from < participantRows.size(); from += BATCH) {
+            jdbc.batchUpdate("INSERT INTO meeting_participants (meeting_id, user_id) VALUES (?, ?)",
+                    participantRows.subList(from, Math.min(from + BATCH, participantRows.size())));
+        }
+    }
+}
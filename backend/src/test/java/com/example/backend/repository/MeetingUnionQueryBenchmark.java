@@ -0,0 +1,147 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.Meeting;
+import com.example.backend.mapper.MeetingMapper;
+import com.example.backend.mapper.UserMapper;
+import com.example.backend.repository.BenchmarkData.MeetingRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * The organized-or-attended union for a user with 50k meetings, against the two queries and
+ * in-memory merge it replaced. Needs the scratch database described in the benchmark profile.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.jdbc.url", matches = ".+")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MeetingUnionQueryBenchmark {
+
+    private static final int MEETINGS = 50_000 * Integer.getInteger("benchmark.scale", 1);
+    private static final int COLLEAGUES = 50;
+    private static final String HEAVY_EMAIL = "heavy@benchmark.invalid";
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2026, 1, 5, 0, 0);
+    private static final int DAYS = 4 * 365;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final int QUERIES = 20;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MeetingMapper mapper = new MeetingMapper(new UserMapper());
+    private Long heavyUserId;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("benchmark.jdbc.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("benchmark.jdbc.username", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("benchmark.jdbc.password", ""));
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    // Half organized by the heavy user, half attended, on top of whatever the database holds
+    @BeforeEach
+    void populate() {
+        ReflectionTestUtils.setField(mapper, "inlineParticipantsMax", 200);
+        List<Long> existing = jdbc.queryForList("SELECT id FROM users WHERE email = ?", Long.class, HEAVY_EMAIL);
+        if (!existing.isEmpty()) {
+            heavyUserId = existing.get(0);
+            return;
+        }
+        heavyUserId = BenchmarkData.nextId(jdbc, "users");
+        BenchmarkData.insertUsers(jdbc, heavyUserId, COLLEAGUES + 1);
+        jdbc.update("UPDATE users SET email = ? WHERE id = ?", HEAVY_EMAIL, heavyUserId);
+
+        Random random = new Random(13);
+        long meetingId = BenchmarkData.nextId(jdbc, "meetings");
+        List<MeetingRow> rows = new ArrayList<>(MEETINGS);
+        for (int i = 0; i < MEETINGS; i++) {
+            long colleague = heavyUserId + 1 + random.nextInt(COLLEAGUES);
+            LocalDateTime start = FIRST_DAY.plusDays(random.nextInt(DAYS)).plusMinutes(30L * (16 + random.nextInt(20)));
+            rows.add(i % 2 == 0
+                    ? new MeetingRow(meetingId++, heavyUserId, start, 30, new long[] {colleague})
+                    : new MeetingRow(meetingId++, colleague, start, 30, new long[] {heavyUserId}));
+        }
+        BenchmarkData.insertMeetings(jdbc, rows);
+    }
+
+    @Test
+    void unionForAHeavyUser() {
+        System.out.printf("user %d with %d meetings%n", heavyUserId, MEETINGS);
+
+        report("union, first page of 50", () ->
+                meetingRepository.findByUserInWindow(heavyUserId, EARLIEST, LATEST, 50, 0));
+        report("union, one month", () ->
+                meetingRepository.findByUserInWindow(heavyUserId, FIRST_DAY, FIRST_DAY.plusMonths(1), Integer.MAX_VALUE, 0));
+        report("union, all", () ->
+                meetingRepository.findByUserInWindow(heavyUserId, EARLIEST, LATEST, Integer.MAX_VALUE, 0));
+        reportSummaries();
+        report("two queries + merge", this::twoQueriesAndMerge);
+    }
+
+    // What getMeetingsByUser did before the union query
+    private List<Meeting> twoQueriesAndMerge() {
+        List<Meeting> meetings = new ArrayList<>(meetingRepository.findByOrganizerId(heavyUserId));
+        for (Meeting meeting : meetingRepository.findByParticipantsId(heavyUserId)) {
+            if (!meetings.contains(meeting)) {
+                meetings.add(meeting);
+            }
+        }
+        return meetings;
+    }
+
+    private void report(String shape, Supplier<List<Meeting>> query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        time(shape, () -> transaction.execute(status -> mapper.toResponseDTOList(query.get()).size()));
+    }
+
+    private void reportSummaries() {
+        time("union summaries, all", () -> meetingRepository
+                .findSummariesByUserInWindow(heavyUserId, EARLIEST, LATEST, Integer.MAX_VALUE, 0).size());
+    }
+
+    private static void time(String shape, Supplier<Integer> once) {
+        for (int i = 0; i < QUERIES / 4; i++) {
+            once.get();
+        }
+        long[] millis = new long[QUERIES];
+        int rows = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long started = System.nanoTime();
+            rows = once.get();
+            millis[i] = (System.nanoTime() - started) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-26s %6d rows   p50 %6d ms   max %6d ms%n",
+                shape, rows, millis[QUERIES / 2], millis[QUERIES - 1]);
+    }
+}
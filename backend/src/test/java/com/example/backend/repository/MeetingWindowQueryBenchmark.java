@@ -0,0 +1,142 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.Meeting;
+import com.example.backend.mapper.MeetingMapper;
+import com.example.backend.mapper.UserMapper;
+import com.example.backend.repository.BenchmarkData.MeetingRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Latency of a user's meetings for one week against their whole history. Needs a scratch
+ * MySQL database: -Dbenchmark.jdbc.url=jdbc:mysql://host/db (plus .username and .password).
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.jdbc.url", matches = ".+")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MeetingWindowQueryBenchmark {
+
+    // 1M meetings by default; -Dbenchmark.scale=10 for 10M
+    private static final int MEETINGS = 1_000_000 * Integer.getInteger("benchmark.scale", 1);
+    private static final int USERS = MEETINGS / 1_000;
+    private static final int PARTICIPANTS = 3;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2026, 1, 5, 0, 0);
+    private static final int DAYS = 4 * 365;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final int QUERIES = 200;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MeetingMapper mapper = new MeetingMapper(new UserMapper());
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("benchmark.jdbc.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("benchmark.jdbc.username", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("benchmark.jdbc.password", ""));
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @BeforeEach
+    void populate() {
+        ReflectionTestUtils.setField(mapper, "inlineParticipantsMax", 200);
+        Long existing = jdbc.queryForObject("SELECT COUNT(*) FROM meetings", Long.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        BenchmarkData.insertUsers(jdbc, 1, USERS);
+        Random random = new Random(5);
+        List<MeetingRow> chunk = new ArrayList<>();
+        for (long id = 1; id <= MEETINGS; id++) {
+            long[] participants = new long[PARTICIPANTS];
+            long first = 1 + random.nextInt(USERS - PARTICIPANTS);
+            for (int i = 0; i < PARTICIPANTS; i++) {
+                participants[i] = first + i;
+            }
+            LocalDateTime start = FIRST_DAY.plusDays(random.nextInt(DAYS)).plusMinutes(30L * (16 + random.nextInt(20)));
+            chunk.add(new MeetingRow(id, 1 + random.nextInt(USERS), start, 30 + 30 * random.nextInt(3), participants));
+            if (chunk.size() == 50_000) {
+                BenchmarkData.insertMeetings(jdbc, chunk);
+                chunk.clear();
+            }
+        }
+        BenchmarkData.insertMeetings(jdbc, chunk);
+        System.out.printf("inserted %d users and %d meetings in %d s%n",
+                USERS, MEETINGS, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    @Test
+    void oneWeekAgainstTheWholeHistory() {
+        long meetings = jdbc.queryForObject("SELECT COUNT(*) FROM meetings", Long.class);
+        long users = jdbc.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        System.out.printf("%d meetings, %d users%n", meetings, users);
+
+        report("user, one week", (userId, week) ->
+                meetingRepository.findByUserInWindow(userId, week, week.plusWeeks(1), Integer.MAX_VALUE, 0));
+        report("user, all history", (userId, week) ->
+                meetingRepository.findByUserInWindow(userId, EARLIEST, LATEST, Integer.MAX_VALUE, 0));
+        report("organizer, one week", (userId, week) ->
+                meetingRepository.findByOrganizerIdInWindow(userId, week, week.plusWeeks(1)));
+        report("organizer, all history", (userId, week) -> meetingRepository.findByOrganizerId(userId));
+    }
+
+    private interface Query {
+        List<Meeting> run(Long userId, LocalDateTime week);
+    }
+
+    // Loads and maps the meetings with their organizer and participants, as the endpoint does
+    private void report(String shape, Query query) {
+        Random random = new Random(9);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Function<Integer, Integer> once = ignored -> transaction.execute(status -> {
+            Long userId = 1L + random.nextInt(USERS);
+            LocalDateTime week = FIRST_DAY.plusWeeks(random.nextInt(DAYS / 7));
+            return mapper.toResponseDTOList(query.run(userId, week)).size();
+        });
+        for (int i = 0; i < QUERIES / 4; i++) {
+            once.apply(i);
+        }
+        long[] micros = new long[QUERIES];
+        long rows = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long started = System.nanoTime();
+            rows += once.apply(i);
+            micros[i] = (System.nanoTime() - started) / 1_000;
+        }
+        Arrays.sort(micros);
+        System.out.printf("%-24s %6d rows avg   p50 %8d us   p99 %8d us%n",
+                shape, rows / QUERIES, micros[QUERIES / 2], micros[QUERIES * 99 / 100]);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ConcurrentBookingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingLockManagerTests {
+
+    private BookingLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        lockManager = new BookingLockManager();
+        ReflectionTestUtils.setField(lockManager, "stripeCount", 64);
+        ReflectionTestUtils.setField(lockManager, "lockTimeoutMs", 10_000L);
+        lockManager.initStripes();
+    }
+
+    /**
+     * Many threads book random overlapping attendee sets with a check-then-insert against
+     * a shared calendar; no two bookings for the same user may ever pass the check.
+     */
+    @Test
+    void concurrentBookingsForSharedUsersNeverDoubleBook() throws Exception {
+        int threads = 16;
+        int bookingsPerThread = 500;
+        Set<Long> bookedUsers = new HashSet<>();
+        AtomicInteger insideCheck = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger();
+        List<Long> doubleBooked = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < bookingsPerThread; i++) {
+                    Set<Long> attendees = new HashSet<>();
+                    int size = 1 + random.nextInt(5);
+                    while (attendees.size() < size) {
+                        attendees.add((long) random.nextInt(200));
+                    }
+                    lockManager.withUserLocks(attendees, () -> {
+                        insideCheck.incrementAndGet();
+                        boolean free;
+                        synchronized (bookedUsers) {
+                            free = attendees.stream().noneMatch(bookedUsers::contains);
+                        }
+                        // Widen the window between the check and the insert
+                        Thread.yield();
+                        if (free) {
+                            synchronized (bookedUsers) {
+                                for (Long attendee : attendees) {
+                                    if (!bookedUsers.add(attendee)) {
+                                        doubleBooked.add(attendee);
+                                    }
+                                }
+                            }
+                            accepted.incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(insideCheck.get()).isEqualTo(threads * bookingsPerThread);
+        assertThat(accepted.get()).isPositive();
+        assertThat(doubleBooked).isEmpty();
+    }
+
+    @Test
+    void overlappingAttendeeSetsInOppositeOrderDoNotDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicInteger completed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<Long> attendees : List.of(List.of(1L, 2L, 3L), List.of(3L, 2L, 1L))) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    lockManager.withUserLocks(attendees, completed::incrementAndGet);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertThat(completed.get()).isEqualTo(20_000);
+    }
+
+    @Test
+    void timesOutWhenTheUsersAreLockedElsewhere() throws Exception {
+        ReflectionTestUtils.setField(lockManager, "lockTimeoutMs", 50L);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> lockManager.withUserLocks(List.of(7L), () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        locked.await();
+
+        assertThatThrownBy(() -> lockManager.withUserLocks(List.of(7L), () -> null))
+                .isInstanceOf(ConcurrentBookingException.class);
+
+        release.countDown();
+        holder.join();
+        assertThat(lockManager.withUserLocks(List.of(7L), () -> "free")).isEqualTo("free");
+    }
+
+    @Test
+    void releasesLocksWhenTheActionThrows() {
+        assertThatThrownBy(() -> lockManager.withUserLocks(List.of(1L, 2L), () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(lockManager.withUserLocks(List.of(1L, 2L), () -> "again")).isEqualTo("again");
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.UserBusyDay;
+import com.example.backend.entity.UserBusyDayId;
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import com.example.backend.repository.MeetingRepository;
+import com.example.backend.repository.UserBusyDayRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusyBitmapServiceTests {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+    private static final LocalDateTime NINE = DAY.atTime(9, 0);
+    private static final int NINE_SLOT = 9 * 4;
+
+    private UserBusyDayRepository busyDayRepository;
+    private UserRepository userRepository;
+    private MeetingRepository meetingRepository;
+    private BusyBitmapService bitmapService;
+
+    @BeforeEach
+    void setUp() {
+        busyDayRepository = mock(UserBusyDayRepository.class);
+        userRepository = mock(UserRepository.class);
+        meetingRepository = mock(MeetingRepository.class);
+        bitmapService = new BusyBitmapService(busyDayRepository, userRepository, meetingRepository,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(bitmapService, "horizonDays", 90);
+        ReflectionTestUtils.setField(bitmapService, "batchSize", 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bitmapService.shutdown();
+    }
+
+    @Test
+    void fullyCoveredSlotsAnswerWithoutAQuery() {
+        // Busy 09:00-10:00
+        storeRow(1L, bits(NINE_SLOT, NINE_SLOT + 4), bits(NINE_SLOT, NINE_SLOT + 4));
+
+        assertThat(bitmapService.isFree(1L, NINE.plusMinutes(30), NINE.plusMinutes(45))).isFalse();
+        assertThat(bitmapService.isFree(1L, NINE.plusHours(2), NINE.plusHours(3))).isTrue();
+
+        verify(meetingRepository, never()).findBusyIntervals(anyCollection(), any(), any(), any(), any());
+    }
+
+    @Test
+    void partiallyCoveredSlotsFallBackToTheExactQuery() {
+        // Busy 09:00-09:10: slot 09:00 is touched but not fully covered
+        storeRow(1L, bits(NINE_SLOT, NINE_SLOT + 1), new BitSet());
+        busyIntervals(NINE, NINE.plusMinutes(10));
+
+        assertThat(bitmapService.isFree(1L, NINE.plusMinutes(10), NINE.plusMinutes(15))).isTrue();
+        assertThat(bitmapService.isFree(1L, NINE.plusMinutes(5), NINE.plusMinutes(15))).isFalse();
+
+        verify(meetingRepository, times(2)).findBusyIntervals(anyCollection(), any(), any(), any(), any());
+    }
+
+    @Test
+    void rowsAwaitingRecomputeAreNotTrusted() throws InterruptedException {
+        storeRow(1L, new BitSet(), new BitSet());
+        busyIntervals(NINE, NINE.plusHours(1));
+        CountDownLatch recomputing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.lockUserRows(anyCollection())).thenAnswer(invocation -> {
+            recomputing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        bitmapService.onMeetingChanged(meetingCreated(NINE, NINE.plusHours(1)));
+        assertThat(recomputing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The stored row still says free, but the meeting just booked is found by the exact query
+        assertThat(bitmapService.isFree(1L, NINE, NINE.plusHours(1))).isFalse();
+        release.countDown();
+    }
+
+    @Test
+    void missingRowsInTheHorizonAreBackfilled() {
+        when(busyDayRepository.findByUsersAndDays(anyCollection(), any(), any())).thenReturn(List.of());
+        when(meetingRepository.findBusyIntervals(anyCollection(), any(), any(), any(), any())).thenReturn(List.of());
+        when(userRepository.lockUserRows(anyCollection())).thenReturn(List.of(1L));
+
+        assertThat(bitmapService.isFree(1L, NINE, NINE.plusHours(1))).isTrue();
+
+        verify(busyDayRepository, timeout(1000)).upsert(eq(1L), eq(DAY), any(), any());
+    }
+
+    @Test
+    void daysOutsideTheHorizonAreNotBackfilled() {
+        LocalDateTime later = NINE.plusDays(120);
+        when(busyDayRepository.findByUsersAndDays(anyCollection(), any(), any())).thenReturn(List.of());
+        when(meetingRepository.findBusyIntervals(anyCollection(), any(), any(), any(), any())).thenReturn(List.of());
+
+        assertThat(bitmapService.isFree(1L, later, later.plusHours(1))).isTrue();
+
+        verify(userRepository, never()).lockUserRows(anyCollection());
+    }
+
+    @Test
+    void horizonBackfillSkipsDaysAlreadyStored() {
+        storeRow(1L, new BitSet(), new BitSet());
+        when(meetingRepository.findBusyIntervals(anyCollection(), any(), any(), any(), any())).thenReturn(List.of());
+        when(userRepository.lockUserRows(anyCollection())).thenReturn(List.of(1L));
+
+        bitmapService.backfillHorizon(List.of(1L));
+
+        verify(busyDayRepository, never()).upsert(eq(1L), eq(DAY), any(), any());
+        verify(busyDayRepository, times(89)).upsert(eq(1L), any(), any(), any());
+    }
+
+    private void storeRow(Long userId, BitSet any, BitSet full) {
+        UserBusyDay row = UserBusyDay.builder().id(new UserBusyDayId(userId, DAY))
+                .anyBusy(any.toByteArray()).fullyBusy(full.toByteArray()).build();
+        when(busyDayRepository.findByUsersAndDays(anyCollection(), any(), any())).thenReturn(List.of(row));
+    }
+
+    private void busyIntervals(LocalDateTime start, LocalDateTime end) {
+        when(meetingRepository.findBusyIntervals(anyCollection(), any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, start, end}));
+    }
+
+    private static BitSet bits(int from, int to) {
+        BitSet bits = new BitSet();
+        bits.set(from, to);
+        return bits;
+    }
+
+    private static MeetingChangedEvent meetingCreated(LocalDateTime start, LocalDateTime end) {
+        MeetingSnapshot meeting = MeetingSnapshot.builder()
+                .id(7L).title("Review").startTime(start).endTime(end).organizerId(1L).participantIds(Set.of())
+                .build();
+        return new MeetingChangedEvent(MeetingChangedEvent.Type.CREATED, 7L, null, meeting, Set.of(1L));
+    }
+}
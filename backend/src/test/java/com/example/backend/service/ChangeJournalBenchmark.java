@@ -0,0 +1,106 @@
+package com.example.backend.service;
+
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Append cost with and without forcing each batch to disk, and replay throughput.
+ */
+@Tag("benchmark")
+class ChangeJournalBenchmark {
+
+    private static final int EVENTS = 200_000 * Integer.getInteger("benchmark.scale", 1);
+    private static final int SINGLE_EVENTS = 2_000;
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendAndReplay() throws Exception {
+        ChangeJournal warmup = open(Files.createDirectory(dir.resolve("warmup")), new SimpleMeterRegistry(), false);
+        for (long id = 1; id <= EVENTS; id++) {
+            warmup.onMeetingChanged(event(id));
+        }
+        warmup.stop();
+        warmup.replay(null, null, entry -> true);
+
+        for (boolean force : new boolean[] {false, true}) {
+            Path journalDir = Files.createDirectory(dir.resolve("force-" + force));
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            ChangeJournal journal = open(journalDir, registry, force);
+
+            // A burst, as the request threads see it and until the writer has drained it
+            long started = System.nanoTime();
+            for (long id = 1; id <= EVENTS; id++) {
+                journal.onMeetingChanged(event(id));
+            }
+            long offered = System.nanoTime() - started;
+            Counter appended = registry.counter("journal.appended");
+            while (appended.count() < EVENTS) {
+                Thread.onSpinWait();
+            }
+            long drained = System.nanoTime() - started;
+
+            // One event at a time, each waiting for its own write
+            started = System.nanoTime();
+            for (long id = 1; id <= SINGLE_EVENTS; id++) {
+                journal.onMeetingChanged(event(EVENTS + id));
+                while (appended.count() < EVENTS + id) {
+                    Thread.onSpinWait();
+                }
+            }
+            long single = System.nanoTime() - started;
+            journal.stop();
+
+            System.out.printf("force=%-5s burst of %d: %5.2f us/event to enqueue, %5.2f us/event to write; "
+                            + "one at a time: %6.1f us/event; dropped %d%n",
+                    force, EVENTS, offered / 1_000.0 / EVENTS, drained / 1_000.0 / EVENTS,
+                    single / 1_000.0 / SINGLE_EVENTS, (long) registry.counter("journal.dropped").count());
+
+            if (force) {
+                long[] replayed = new long[1];
+                started = System.nanoTime();
+                journal.replay(null, null, entry -> {
+                    replayed[0]++;
+                    return true;
+                });
+                long replay = System.nanoTime() - started;
+                System.out.printf("replay: %d entries in %d ms (%d entries/s)%n",
+                        replayed[0], replay / 1_000_000, replayed[0] * 1_000_000_000L / replay);
+            }
+        }
+    }
+
+    private static ChangeJournal open(Path dir, SimpleMeterRegistry registry, boolean force) throws IOException {
+        ChangeJournal journal = new ChangeJournal(registry);
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentBytes", 64 << 20);
+        ReflectionTestUtils.setField(journal, "queueCapacity", EVENTS);
+        ReflectionTestUtils.setField(journal, "maxBatch", 4096);
+        ReflectionTestUtils.setField(journal, "force", force);
+        journal.start();
+        return journal;
+    }
+
+    private static MeetingChangedEvent event(long meetingId) {
+        MeetingSnapshot meeting = MeetingSnapshot.builder()
+                .id(meetingId).title("Review").startTime(NINE).endTime(NINE.plusHours(1)).organizerId(1L)
+                .participantIds(Set.of(2L, 3L, 4L)).build();
+        return new MeetingChangedEvent(MeetingChangedEvent.Type.UPDATED, meetingId, meeting, meeting,
+                Set.of(1L, 2L, 3L, 4L));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AgendaChangedEvent;
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import com.example.backend.event.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeJournalTests {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    private final List<ChangeJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (ChangeJournal journal : journals) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void entriesReadBackAsTheyWereWritten() throws Exception {
+        ChangeJournal journal = open(1 << 20);
+        MeetingSnapshot meeting = MeetingSnapshot.builder()
+                .id(5L).title("Review").startTime(NINE).endTime(NINE.plusHours(1)).organizerId(1L)
+                .participantIds(Set.of(2L, 3L)).build();
+        journal.onMeetingChanged(new MeetingChangedEvent(MeetingChangedEvent.Type.UPDATED, 5L, meeting, meeting,
+                new LinkedHashSet<>(List.of(1L, 2L, 3L))));
+        journal.onAgendaChanged(new AgendaChangedEvent(AgendaChangedEvent.Type.UPDATED, 8L, 2L,
+                Set.of(LocalDate.of(2030, 1, 8), LocalDate.of(2030, 1, 7))));
+        journal.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.DELETED, 3L));
+        journal.stop();
+
+        List<JournalEntry> entries = replayAll(journal);
+
+        assertThat(entries).hasSize(3);
+        JournalEntry meetingEntry = entries.get(0);
+        assertThat(meetingEntry.sequence()).isEqualTo(1);
+        assertThat(meetingEntry.type()).isEqualTo(JournalEntry.Type.MEETING_UPDATED);
+        assertThat(meetingEntry.entityId()).isEqualTo(5L);
+        assertThat(meetingEntry.actorId()).isNull();
+        assertThat(meetingEntry.ownerId()).isEqualTo(1L);
+        assertThat(meetingEntry.startTime()).isEqualTo(NINE);
+        assertThat(meetingEntry.endTime()).isEqualTo(NINE.plusHours(1));
+        assertThat(meetingEntry.userIds()).containsExactly(1L, 2L, 3L);
+        JournalEntry agendaEntry = entries.get(1);
+        assertThat(agendaEntry.type()).isEqualTo(JournalEntry.Type.AGENDA_UPDATED);
+        assertThat(agendaEntry.ownerId()).isEqualTo(2L);
+        assertThat(agendaEntry.startTime()).isNull();
+        assertThat(agendaEntry.days()).containsExactly(LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 8));
+        JournalEntry userEntry = entries.get(2);
+        assertThat(userEntry.type()).isEqualTo(JournalEntry.Type.USER_DELETED);
+        assertThat(userEntry.entityId()).isEqualTo(3L);
+        assertThat(userEntry.ownerId()).isNull();
+        assertThat(userEntry.userIds()).isEmpty();
+    }
+
+    @Test
+    void replayStopsOnceTheConsumerDeclines() throws Exception {
+        ChangeJournal journal = open(512);
+        for (long userId = 1; userId <= 20; userId++) {
+            journal.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, userId));
+        }
+        journal.stop();
+
+        List<Long> seen = new ArrayList<>();
+        journal.replay(null, null, entry -> {
+            seen.add(entry.entityId());
+            return seen.size() < 7;
+        });
+
+        assertThat(seen).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void rollsOverToNewSegmentsAndResumesTheSequenceAfterRestart() throws Exception {
+        ChangeJournal journal = open(512);
+        for (long userId = 1; userId <= 20; userId++) {
+            journal.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, userId));
+        }
+        journal.stop();
+
+        assertThat(segments()).hasSizeGreaterThan(2);
+        assertThat(segments()).allSatisfy(segment -> assertThat(Files.size(segment)).isEqualTo(512));
+        assertThat(replayAll(journal)).extracting(JournalEntry::sequence)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()));
+
+        ChangeJournal reopened = open(512);
+        reopened.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, 21L));
+        reopened.stop();
+
+        List<JournalEntry> entries = replayAll(reopened);
+        assertThat(entries).hasSize(21);
+        assertThat(entries.get(20).sequence()).isEqualTo(21);
+        assertThat(entries.get(20).type()).isEqualTo(JournalEntry.Type.USER_UPDATED);
+    }
+
+    @Test
+    void recoveryDiscardsATornRecordAndAppendsOverIt() throws Exception {
+        ChangeJournal journal = open(1 << 16);
+        for (long userId = 1; userId <= 3; userId++) {
+            journal.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, userId));
+        }
+        journal.stop();
+
+        // A crash midway through a write: the length is in place but the body never made it
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int end = endOfRecords(buffer);
+            buffer.putInt(end, 73);
+            buffer.putInt(end + Integer.BYTES, 0x5eed);
+            buffer.put(end + 2 * Integer.BYTES, new byte[] {1, 2, 3, 4, 5});
+            buffer.force();
+        }
+        assertThat(replayAll(journal)).hasSize(3);
+
+        ChangeJournal reopened = open(1 << 16);
+        reopened.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, 4L));
+        reopened.stop();
+
+        assertThat(replayAll(reopened)).extracting(JournalEntry::sequence).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(replayAll(reopened)).extracting(JournalEntry::entityId).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    private ChangeJournal open(int segmentBytes) throws IOException {
+        ChangeJournal journal = new ChangeJournal(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentBytes", segmentBytes);
+        ReflectionTestUtils.setField(journal, "queueCapacity", 1024);
+        ReflectionTestUtils.setField(journal, "maxBatch", 16);
+        ReflectionTestUtils.setField(journal, "force", true);
+        journal.start();
+        journals.add(journal);
+        return journal;
+    }
+
+    private static List<JournalEntry> replayAll(ChangeJournal journal) {
+        List<JournalEntry> entries = new ArrayList<>();
+        journal.replay(null, null, entries::add);
+        return entries;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static int endOfRecords(ByteBuffer buffer) {
+        int position = 0;
+        int length;
+        while ((length = buffer.getInt(position)) > 0) {
+            position += 2 * Integer.BYTES + length;
+        }
+        return position;
+    }
+}
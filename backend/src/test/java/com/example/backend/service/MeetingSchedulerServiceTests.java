@@ -0,0 +1,221 @@
+package com.example.backend.service;
+
+import com.example.backend.service.MeetingSchedulerService.Assignment;
+import com.example.backend.service.MeetingSchedulerService.Plan;
+import com.example.backend.service.MeetingSchedulerService.SessionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeetingSchedulerServiceTests {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+    private static final int STEP = 30;
+
+    private MeetingSchedulerService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new MeetingSchedulerService(null, null, null, null);
+        ReflectionTestUtils.setField(scheduler, "parallelism", 4);
+        ReflectionTestUtils.setField(scheduler, "orderings", 8);
+        ReflectionTestUtils.setField(scheduler, "maxCandidates", 500);
+        scheduler.initPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void placesTheFlexibleSessionAroundTheFixedOne() {
+        List<SessionRequest> requests = List.of(
+                session("flexible", 1L, List.of(), 60, NINE, NINE.plusHours(2)),
+                session("fixed", 1L, List.of(), 60, NINE, NINE.plusHours(1)));
+
+        Plan plan = plan(requests, Map.of());
+
+        assertThat(plan.complete()).isTrue();
+        assertThat(plan.scheduled()).containsExactlyInAnyOrder(
+                new Assignment("flexible", NINE.plusHours(1), NINE.plusHours(2)),
+                new Assignment("fixed", NINE, NINE.plusHours(1)));
+    }
+
+    @Test
+    void avoidsTheAttendeesBusyIntervals() {
+        List<SessionRequest> requests = List.of(session("review", 1L, List.of(2L), 60, NINE, NINE.plusHours(4)));
+        Map<Long, List<BusyInterval>> busy = Map.of(
+                1L, List.of(new BusyInterval(NINE, NINE.plusHours(1))),
+                2L, List.of(new BusyInterval(NINE.plusMinutes(90), NINE.plusHours(3))));
+
+        Plan plan = plan(requests, busy);
+
+        assertThat(plan.scheduled()).containsExactly(
+                new Assignment("review", NINE.plusHours(3), NINE.plusHours(4)));
+    }
+
+    @Test
+    void leavesOutSessionsThatCannotBePlaced() {
+        List<SessionRequest> requests = List.of(
+                session("blocked", 1L, List.of(2L), 60, NINE, NINE.plusHours(2)),
+                session("open", 3L, List.of(), 60, NINE, NINE.plusHours(2)));
+        Map<Long, List<BusyInterval>> busy = Map.of(2L, List.of(new BusyInterval(NINE, NINE.plusHours(2))));
+
+        Plan plan = plan(requests, busy);
+
+        assertThat(plan.complete()).isFalse();
+        assertThat(plan.unscheduled()).containsExactly("blocked");
+        assertThat(plan.scheduled()).extracting(Assignment::key).containsExactly("open");
+    }
+
+    @Test
+    void schedulesAsManySessionsAsPossibleWhenNotAllFit() {
+        // Three one-hour sessions for the same organizer, but only two hours in which to hold them
+        List<SessionRequest> requests = List.of(
+                session("a", 1L, List.of(), 60, NINE, NINE.plusHours(2)),
+                session("b", 1L, List.of(2L), 60, NINE, NINE.plusHours(1)),
+                session("c", 1L, List.of(3L), 60, NINE.plusHours(1), NINE.plusHours(2)));
+
+        Plan plan = plan(requests, Map.of());
+
+        assertThat(plan.scheduled()).hasSize(2);
+        assertValid(requests, Map.of(), plan);
+    }
+
+    @Test
+    void matchesExhaustiveSearchOnSmallRandomInstances() {
+        Random random = new Random(42);
+        for (int instance = 0; instance < 200; instance++) {
+            List<SessionRequest> requests = new ArrayList<>();
+            int sessions = 2 + random.nextInt(5);
+            for (int i = 0; i < sessions; i++) {
+                List<Long> participants = new ArrayList<>();
+                for (long user = 2; user <= 4; user++) {
+                    if (random.nextBoolean()) {
+                        participants.add(user);
+                    }
+                }
+                LocalDateTime windowStart = NINE.plusMinutes(STEP * random.nextInt(6));
+                int duration = STEP * (1 + random.nextInt(3));
+                LocalDateTime windowEnd = windowStart.plusMinutes(duration + STEP * random.nextInt(4));
+                requests.add(session("s" + i, 1L + random.nextInt(2), participants, duration, windowStart, windowEnd));
+            }
+            Map<Long, List<BusyInterval>> busy = new HashMap<>();
+            if (random.nextBoolean()) {
+                LocalDateTime start = NINE.plusMinutes(STEP * random.nextInt(8));
+                busy.put(1L + random.nextInt(4), List.of(new BusyInterval(start, start.plusMinutes(STEP * 2))));
+            }
+
+            Plan plan = plan(requests, busy);
+
+            assertValid(requests, busy, plan);
+            assertThat(plan.scheduled()).as("instance %d", instance)
+                    .hasSize(bestPossible(requests, busy, 0, new ArrayList<>()));
+        }
+    }
+
+    @Test
+    void returnsTheBestPlanSoFarWhenTheDeadlinePasses() {
+        // Forty sessions competing for the same twenty hours: the search cannot finish
+        List<SessionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            requests.add(session("s" + i, 1L, List.of(2L + i), 60, NINE, NINE.plusHours(20)));
+        }
+        long startedAt = System.nanoTime();
+
+        Plan plan = scheduler.plan(requests, Map.of(), NINE, STEP, startedAt, startedAt + TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(5_000);
+        assertThat(plan.complete()).isFalse();
+        assertThat(plan.scheduled()).hasSize(20);
+        assertValid(requests, Map.of(), plan);
+    }
+
+    private Plan plan(List<SessionRequest> requests, Map<Long, List<BusyInterval>> busy) {
+        long startedAt = System.nanoTime();
+        return scheduler.plan(requests, busy, NINE, STEP, startedAt, startedAt + TimeUnit.SECONDS.toNanos(10));
+    }
+
+    private static SessionRequest session(String key, Long organizerId, List<Long> participantIds, int minutes,
+                                          LocalDateTime windowStart, LocalDateTime windowEnd) {
+        return new SessionRequest(key, organizerId, participantIds, minutes, windowStart, windowEnd);
+    }
+
+    private static void assertValid(List<SessionRequest> requests, Map<Long, List<BusyInterval>> busy, Plan plan) {
+        Map<String, SessionRequest> byKey = new HashMap<>();
+        requests.forEach(request -> byKey.put(request.key(), request));
+        Map<Long, List<BusyInterval>> booked = new HashMap<>();
+        busy.forEach((userId, intervals) -> booked.put(userId, new ArrayList<>(intervals)));
+        for (Assignment assignment : plan.scheduled()) {
+            SessionRequest request = byKey.get(assignment.key());
+            assertThat(assignment.startTime()).isAfterOrEqualTo(request.windowStart());
+            assertThat(assignment.endTime()).isBeforeOrEqualTo(request.windowEnd());
+            for (Long attendee : attendees(request)) {
+                List<BusyInterval> intervals = booked.computeIfAbsent(attendee, id -> new ArrayList<>());
+                assertThat(intervals).noneMatch(interval -> interval.overlaps(assignment.startTime(), assignment.endTime()));
+                intervals.add(new BusyInterval(assignment.startTime(), assignment.endTime()));
+            }
+        }
+    }
+
+    // Tries every start and leaving out for every session
+    private static int bestPossible(List<SessionRequest> requests, Map<Long, List<BusyInterval>> busy,
+                                    int index, List<Assignment> placed) {
+        if (index == requests.size()) {
+            return placed.size();
+        }
+        SessionRequest request = requests.get(index);
+        int best = bestPossible(requests, busy, index + 1, placed);
+        for (LocalDateTime start = request.windowStart();
+             !start.plusMinutes(request.durationMinutes()).isAfter(request.windowEnd());
+             start = start.plusMinutes(STEP)) {
+            LocalDateTime end = start.plusMinutes(request.durationMinutes());
+            if (isFree(requests, busy, placed, request, start, end)) {
+                placed.add(new Assignment(request.key(), start, end));
+                best = Math.max(best, bestPossible(requests, busy, index + 1, placed));
+                placed.remove(placed.size() - 1);
+            }
+        }
+        return best;
+    }
+
+    private static boolean isFree(List<SessionRequest> requests, Map<Long, List<BusyInterval>> busy,
+                                  List<Assignment> placed, SessionRequest request,
+                                  LocalDateTime start, LocalDateTime end) {
+        for (Long attendee : attendees(request)) {
+            if (busy.getOrDefault(attendee, List.of()).stream().anyMatch(interval -> interval.overlaps(start, end))) {
+                return false;
+            }
+            for (Assignment other : placed) {
+                SessionRequest otherRequest = requests.stream()
+                        .filter(candidate -> candidate.key().equals(other.key())).findFirst().orElseThrow();
+                if (attendees(otherRequest).contains(attendee)
+                        && other.startTime().isBefore(end) && other.endTime().isAfter(start)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> attendees(SessionRequest request) {
+        Set<Long> attendees = new LinkedHashSet<>();
+        attendees.add(request.organizerId());
+        attendees.addAll(request.participantIds());
+        return attendees;
+    }
+}
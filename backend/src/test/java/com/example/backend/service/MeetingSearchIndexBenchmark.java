@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.MeetingSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Query latency of the search index against a synthetic corpus.
+ */
+@Tag("benchmark")
+class MeetingSearchIndexBenchmark {
+
+    private static final int MEETINGS = 200_000 * Integer.getInteger("benchmark.scale", 1);
+    private static final int USERS = 20_000;
+    private static final int VOCABULARY = 5_000;
+    private static final int QUERIES = 500;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void queryLatency() {
+        Random random = new Random(3);
+        MeetingSearchIndex index = new MeetingSearchIndex(null, null);
+        long started = System.nanoTime();
+        for (long id = 1; id <= MEETINGS; id++) {
+            LocalDateTime startTime = START.plusMinutes(15L * random.nextInt(35_000));
+            long participant = 1L + random.nextInt(USERS - 1);
+            MeetingSnapshot meeting = MeetingSnapshot.builder()
+                    .id(id).title(words(random, 4)).description(words(random, 20))
+                    .startTime(startTime).endTime(startTime.plusHours(1))
+                    .organizerId(1L + random.nextInt(USERS))
+                    .participantIds(Set.of(participant, participant + 1))
+                    .build();
+            index.onMeetingChanged(new MeetingChangedEvent(MeetingChangedEvent.Type.CREATED, id, null, meeting,
+                    Set.of(meeting.getOrganizerId())));
+        }
+        System.out.printf("indexed %d meetings in %d ms%n", index.size(), (System.nanoTime() - started) / 1_000_000);
+
+        report("one common term", index, random, q -> word(q, 20), false, false);
+        report("one term, any frequency", index, random, q -> word(q, VOCABULARY), false, false);
+        report("two terms", index, random, q -> word(q, 200) + " " + word(q, 200), false, false);
+        report("three terms", index, random, q -> word(q, 100) + " " + word(q, 100) + " " + word(q, 100), false, false);
+        report("common term, one month", index, random, q -> word(q, 20), true, false);
+        report("common term, one user", index, random, q -> word(q, 20), false, true);
+    }
+
+    private static void report(String shape, MeetingSearchIndex index, Random random,
+                               Function<Random, String> query, boolean month, boolean user) {
+        long[] micros = new long[QUERIES];
+        for (int i = -QUERIES; i < QUERIES; i++) {
+            String text = query.apply(random);
+            LocalDateTime from = month ? START.plusDays(random.nextInt(330)) : null;
+            Long userId = user ? 1L + random.nextInt(USERS) : null;
+            long started = System.nanoTime();
+            index.search(text, from, from == null ? null : from.plusMonths(1), userId, 20);
+            // The first half warms up
+            if (i >= 0) {
+                micros[i] = (System.nanoTime() - started) / 1_000;
+            }
+        }
+        Arrays.sort(micros);
+        System.out.printf("%-24s p50 %6d us   p99 %6d us%n",
+                shape, micros[QUERIES / 2], micros[QUERIES * 99 / 100]);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(word(random, VOCABULARY)).append(' ');
+        }
+        return text.toString();
+    }
+
+    // Skewed towards the low ids, like word frequencies in real titles
+    private static String word(Random random, int bound) {
+        int rank = (int) Math.min(bound - 1, Math.floor(Math.pow(bound, random.nextDouble())) - 1);
+        return "w" + Integer.toString(rank, 36) + "x";
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Cost per timer of scheduling, cancelling and firing a million reminders.
+ */
+@Tag("benchmark")
+class TimingWheelBenchmark {
+
+    private static final int TIMERS = 1_000_000 * Integer.getInteger("benchmark.scale", 1);
+    // Reminders land up to 90 days out on a one-second tick
+    private static final long HORIZON_MILLIS = 90L * 24 * 60 * 60 * 1000;
+
+    @Test
+    void scheduleCancelAndFire() {
+        for (int round = 0; round < 3; round++) {
+            run(round == 2);
+        }
+    }
+
+    private static void run(boolean print) {
+        Random random = new Random(11);
+        long[] deadlines = new long[TIMERS];
+        for (int i = 0; i < TIMERS; i++) {
+            deadlines[i] = 1 + (long) (random.nextDouble() * HORIZON_MILLIS);
+        }
+        TimingWheel<Integer> wheel = new TimingWheel<>(1_000, 0);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < TIMERS; i++) {
+            wheel.schedule(i, deadlines[i], i);
+        }
+        long schedule = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < TIMERS; i += 10) {
+            wheel.cancel(i);
+        }
+        long cancel = System.nanoTime() - started;
+
+        // One advance per minute of wheel time, as a lagging ticker would do
+        started = System.nanoTime();
+        long fired = 0;
+        for (long now = 0; now <= HORIZON_MILLIS + 60_000; now += 60_000) {
+            fired += wheel.advanceTo(now).size();
+        }
+        long advance = System.nanoTime() - started;
+
+        if (print) {
+            System.out.printf("%d timers over 90 days at 1 s ticks%n", TIMERS);
+            System.out.printf("schedule  %6d ns/timer%n", schedule / TIMERS);
+            System.out.printf("cancel    %6d ns/timer%n", cancel / (TIMERS / 10));
+            System.out.printf("fire      %6d ns/timer (%d fired, %d ms in total)%n",
+                    advance / fired, fired, advance / 1_000_000);
+        }
+    }
+}
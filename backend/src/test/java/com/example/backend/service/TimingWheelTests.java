@@ -0,0 +1,96 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTests {
+
+    private static final long LEVEL_1 = 64;
+    private static final long LEVEL_2 = 64 * 64;
+    private static final long LEVEL_3 = 64 * 64 * 64;
+    private static final long OVERFLOW = 64L * 64 * 64 * 64;
+
+    @Test
+    void firesTimersInDeadlineOrder() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        Random random = new Random(7);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = 1 + random.nextInt((int) LEVEL_3 * 2);
+            deadlines.add(deadline);
+            wheel.schedule(i, deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= LEVEL_3 * 2; now += 1 + random.nextInt(5_000)) {
+            fired.addAll(wheel.advanceTo(now));
+        }
+        fired.addAll(wheel.advanceTo(LEVEL_3 * 2));
+
+        assertThat(fired).isSorted().containsExactlyInAnyOrderElementsOf(deadlines);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesTimersFromEveryLevelOnTheirTick() {
+        for (long deadline : List.of(5L, LEVEL_1 + 3, LEVEL_2 + LEVEL_1 + 1, LEVEL_3 * 2 + 7, OVERFLOW + 11)) {
+            TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+            wheel.schedule(1, deadline, "due");
+
+            assertThat(wheel.advanceTo(deadline - 1)).as("deadline %d", deadline).isEmpty();
+            assertThat(wheel.advanceTo(deadline)).as("deadline %d", deadline).containsExactly("due");
+        }
+    }
+
+    @Test
+    void cascadesTimersScheduledAfterTheWheelHasMoved() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.advanceTo(LEVEL_2 - 10);
+        // Crosses a level-2 boundary shortly after being placed
+        wheel.schedule(1, LEVEL_2 + 20, "late");
+        wheel.schedule(2, LEVEL_2 - 5, "early");
+
+        assertThat(wheel.advanceTo(LEVEL_2 - 5)).containsExactly("early");
+        assertThat(wheel.advanceTo(LEVEL_2 + 19)).isEmpty();
+        assertThat(wheel.advanceTo(LEVEL_2 + 20)).containsExactly("late");
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0);
+        wheel.schedule(1, 100, "first reminder");
+        wheel.schedule(1, 50_000, "second reminder");
+        wheel.schedule(2, 100, "other meeting");
+
+        wheel.cancel(1);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advanceTo(100_000)).containsExactly("other meeting");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void timersScheduledAgainAfterCancellingFireOnce() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.schedule(1, LEVEL_2, "moved away");
+        wheel.cancel(1);
+        wheel.schedule(1, LEVEL_2 + 1, "moved here");
+
+        assertThat(wheel.advanceTo(LEVEL_2 * 2)).containsExactly("moved here");
+    }
+
+    @Test
+    void overdueTimersFireOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000, 60_000);
+        wheel.schedule(1, 1_000, "long overdue");
+        wheel.schedule(2, 60_000, "due now");
+
+        assertThat(wheel.advanceTo(60_999)).isEmpty();
+        assertThat(wheel.advanceTo(61_000)).containsExactly("long overdue", "due now");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.service;
+
+import com.example.backend.event.MeetingChangedEvent;
+import com.example.backend.event.UserChangedEvent;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.AgendaRepository;
+import com.example.backend.repository.MeetingRepository;
+import com.example.backend.repository.UserBusyDayRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDeletionServiceTests {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private UserRepository userRepository;
+    private MeetingRepository meetingRepository;
+    private AgendaRepository agendaRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private UserDeletionService deletionService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meetingRepository = mock(MeetingRepository.class);
+        agendaRepository = mock(AgendaRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        deletionService = new UserDeletionService(userRepository, meetingRepository, agendaRepository,
+                mock(UserBusyDayRepository.class), mock(MeetingArchiveService.class),
+                mock(PlatformTransactionManager.class), eventPublisher);
+        ReflectionTestUtils.setField(deletionService, "chunkSize", 2);
+    }
+
+    @Test
+    void softDeletePublishesOneEventForTheUser() {
+        when(userRepository.softDelete(eq(1L), any())).thenReturn(1);
+
+        deletionService.softDeleteUser(1L);
+
+        assertThat(publishedEvents()).singleElement().isInstanceOfSatisfying(UserChangedEvent.class, event -> {
+            assertThat(event.getType()).isEqualTo(UserChangedEvent.Type.DELETED);
+            assertThat(event.getAffectedUserIds()).containsExactly(1L);
+        });
+        verify(meetingRepository).softDeleteOrganizedBy(eq(1L), any());
+        verify(meetingRepository, never()).findParticipantPairs(anyCollection());
+    }
+
+    @Test
+    void softDeleteOfAMissingUserChangesNothing() {
+        when(userRepository.softDelete(eq(1L), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> deletionService.softDeleteUser(1L)).isInstanceOf(ResourceNotFoundException.class);
+
+        verify(meetingRepository, never()).softDeleteOrganizedBy(anyLong(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void purgeAnnouncesTheMeetingsDeletedWithTheUser() {
+        when(meetingRepository.findOrganizedMeetingIds(1L, 2)).thenReturn(List.of(10L, 11L), List.of(12L), List.of());
+        // Meeting 11 was deleted before the user and announced then
+        when(meetingRepository.findMeetingRowsDeletedWithOrganizer(List.of(10L, 11L)))
+                .thenReturn(List.<Object[]>of(row(10L)));
+        when(meetingRepository.findMeetingRowsDeletedWithOrganizer(List.of(12L))).thenReturn(List.<Object[]>of(row(12L)));
+        when(meetingRepository.findParticipantPairs(anyCollection())).thenReturn(
+                List.of(new Object[] {10L, 2L}, new Object[] {10L, 3L}), List.of());
+        when(meetingRepository.deleteMeetingsByIds(anyCollection())).thenReturn(2, 1);
+        when(meetingRepository.findParticipationMeetingIds(eq(1L), anyInt())).thenReturn(List.of());
+        when(userRepository.deleteUserRow(1L)).thenReturn(1);
+
+        assertThat(deletionService.purgeUser(1L)).isEqualTo(4);
+
+        List<MeetingChangedEvent> deletions = publishedEvents().stream()
+                .map(MeetingChangedEvent.class::cast).toList();
+        assertThat(deletions).extracting(MeetingChangedEvent::getMeetingId).containsExactly(10L, 12L);
+        assertThat(deletions).allSatisfy(event -> {
+            assertThat(event.getType()).isEqualTo(MeetingChangedEvent.Type.DELETED);
+            assertThat(event.getAfter()).isNull();
+            assertThat(event.getBefore().getStartTime()).isEqualTo(NINE);
+            assertThat(event.getBefore().getOrganizerId()).isEqualTo(1L);
+        });
+        assertThat(deletions.get(0).getBefore().getParticipantIds()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(deletions.get(0).getAffectedUserIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(deletions.get(1).getAffectedUserIds()).containsExactly(1L);
+        verify(meetingRepository, atLeastOnce()).deleteParticipantsOfMeetings(List.of(10L, 11L));
+    }
+
+    private List<Object> publishedEvents() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+
+    private static Object[] row(Long meetingId) {
+        return new Object[] {meetingId, "Meeting " + meetingId, null, NINE, NINE.plusHours(1), 1L};
+    }
+}
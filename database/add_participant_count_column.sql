@@ -0,0 +1,15 @@
+-- Add the participant count column to meetings and fill it from the join table
+-- Run this once on databases created before large-meeting support
+
+USE meeting_planner;
+
+ALTER TABLE meetings
+ADD COLUMN IF NOT EXISTS participant_count INT;
+
+-- For MySQL versions that don't support IF NOT EXISTS, use this instead:
+-- ALTER TABLE meetings ADD COLUMN participant_count INT;
+
+-- Backfill existing meetings; rows left NULL are counted on read instead
+UPDATE meetings m
+SET participant_count = (SELECT COUNT(*) FROM meeting_participants mp WHERE mp.meeting_id = m.id)
+WHERE participant_count IS NULL;
@@ -0,0 +1,18 @@
+-- Add the soft-delete columns to users and meetings
+-- Run this once on databases created before deletions were purged in the background
+
+USE meeting_planner;
+
+ALTER TABLE users
+ADD COLUMN IF NOT EXISTS deleted_at DATETIME(6);
+
+ALTER TABLE meetings
+ADD COLUMN IF NOT EXISTS deleted_at DATETIME(6);
+
+-- For MySQL versions that don't support IF NOT EXISTS, use this instead:
+-- ALTER TABLE users ADD COLUMN deleted_at DATETIME(6);
+-- ALTER TABLE meetings ADD COLUMN deleted_at DATETIME(6);
+
+-- The purge looks up deleted rows by these indexes
+CREATE INDEX idx_users_deleted_at ON users (deleted_at);
+CREATE INDEX idx_meetings_deleted_at ON meetings (deleted_at);
@@ -1,5 +1,5 @@
 -- Meeting Planner Database Schema
--- This file is for reference only - Spring Boot JPA will auto-create these tables
+-- Spring Boot creates these tables in development; the prod profile validates the entities against this schema
 
 -- Create database
 CREATE DATABASE IF NOT EXISTS meeting_planner;
@@ -12,7 +12,9 @@ CREATE TABLE IF NOT EXISTS users (
     email VARCHAR(255) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     role VARCHAR(50) NOT NULL,
-    INDEX idx_email (email)
+    deleted_at DATETIME(6),
+    INDEX idx_email (email),
+    INDEX idx_users_deleted_at (deleted_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Meetings table
@@ -23,9 +25,12 @@ CREATE TABLE IF NOT EXISTS meetings (
     start_time DATETIME NOT NULL,
     end_time DATETIME NOT NULL,
     organizer_id BIGINT NOT NULL,
+    participant_count INT,
+    deleted_at DATETIME(6),
     FOREIGN KEY (organizer_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_organizer (organizer_id),
-    INDEX idx_start_time (start_time)
+    INDEX idx_meetings_organizer_start_end (organizer_id, start_time, end_time),
+    INDEX idx_meetings_start_end (start_time, end_time),
+    INDEX idx_meetings_deleted_at (deleted_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Meeting participants join table
@@ -35,7 +40,7 @@ CREATE TABLE IF NOT EXISTS meeting_participants (
     PRIMARY KEY (meeting_id, user_id),
     FOREIGN KEY (meeting_id) REFERENCES meetings(id) ON DELETE CASCADE,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_user (user_id)
+    INDEX idx_meeting_participants_user_meeting (user_id, meeting_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Agendas table
@@ -49,6 +54,58 @@ CREATE TABLE IF NOT EXISTS agendas (
     status VARCHAR(50) NOT NULL,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (meeting_id) REFERENCES meetings(id) ON DELETE CASCADE,
-    INDEX idx_user_date (user_id, date),
+    INDEX idx_agendas_user_date_start (user_id, date, start_time),
     INDEX idx_meeting (meeting_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Archive tables: meetings that ended before the archive horizon are moved here
+CREATE TABLE IF NOT EXISTS meetings_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    start_time DATETIME NOT NULL,
+    end_time DATETIME NOT NULL,
+    organizer_id BIGINT NOT NULL,
+    archived_at DATETIME NOT NULL,
+    FOREIGN KEY (organizer_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_meetings_archive_organizer_start (organizer_id, start_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS meeting_participants_archive (
+    meeting_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    FOREIGN KEY (meeting_id) REFERENCES meetings_archive(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_meeting_participants_archive_user (user_id, meeting_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS agendas_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    meeting_id BIGINT,
+    date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    archived_at DATETIME NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (meeting_id) REFERENCES meetings_archive(id) ON DELETE CASCADE,
+    INDEX idx_agendas_archive_user_date (user_id, date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS user_busy_days (
+    user_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    any_busy VARBINARY(12) NOT NULL,
+    fully_busy VARBINARY(12) NOT NULL,
+    PRIMARY KEY (user_id, day)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status_code INT,
+    response_body LONGTEXT,
+    expires_at DATETIME NOT NULL,
+    INDEX idx_idempotency_keys_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;